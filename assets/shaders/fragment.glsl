@@ -7,6 +7,10 @@ varying float v_lightIntensity;
 varying vec3 v_worldPosition;
 varying float v_distance;
 
+// Der Nebelbereich folgt der Sichtweite, wird vom ChunkRenderer gesetzt
+uniform float u_fogStart; // Entfernung von dem Spieler
+uniform float u_fogEnd;   // Entfernung von dem Spieler
+
 void main() {
     float ambient = 0.45;
     float lightStrength = ambient + (1.0 - ambient) * v_lightIntensity;
@@ -15,11 +19,9 @@ void main() {
 
     // FOG
     vec3 fogColor = vec3(160.0/255.0, 200.0/255.0, 240.0/255.0); // Leicht Blau
-    float fogStart = 110.0; // Entfernung von dem Spieler
-    float fogEnd = 150.0;   // Entfernung von dem Spieler
 
     // Der Nebel wird "dichter" das heisst der faktor wird grösser je weiter weg.
-    float fogFactor = clamp((v_distance - fogStart) / (fogEnd - fogStart), 0.0, 1.0);
+    float fogFactor = clamp((v_distance - u_fogStart) / (u_fogEnd - u_fogStart), 0.0, 1.0);
 
     // Combine the base color with the fog color for a more vibrant look
     vec3 finalColor = mix(baseColor, fogColor, fogFactor);
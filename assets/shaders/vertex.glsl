@@ -1,11 +1,10 @@
-attribute vec3 a_position;
-attribute vec3 a_normal;
-attribute vec2 a_texCoord0;
+// Chunk-Vertices sind gepackt: xyz ist die lokale Position im Chunk, w der Index der Seite
+attribute vec4 a_position;
 attribute vec4 a_color;
 
 uniform mat4 u_projViewTrans;
-uniform mat4 u_worldTrans;
-uniform mat3 u_normalMatrix;
+// Der Ursprung des Chunks in Weltkoordinaten, wird vom ChunkRenderer pro Chunk gesetzt
+uniform vec3 u_chunkOrigin;
 
 varying vec4 v_color;
 varying float v_lightIntensity;
@@ -14,14 +13,25 @@ varying float v_distance;
 
 const vec3 lightDirection = normalize(vec3(-1.0, -0.8, -0.2));
 
+// Die Normalen in der Reihenfolge von ChunkMesher.Face: TOP, BOTTOM, NORTH, SOUTH, EAST, WEST
+vec3 faceNormal(float face) {
+    if (face < 0.5) return vec3(0.0, 1.0, 0.0);
+    if (face < 1.5) return vec3(0.0, -1.0, 0.0);
+    if (face < 2.5) return vec3(0.0, 0.0, -1.0);
+    if (face < 3.5) return vec3(0.0, 0.0, 1.0);
+    if (face < 4.5) return vec3(-1.0, 0.0, 0.0);
+    return vec3(1.0, 0.0, 0.0);
+}
+
 void main() {
     v_color = a_color;
 
-    vec3 worldNormal = normalize(u_normalMatrix * a_normal);
+    // Chunks werden nur verschoben, die Normale gilt daher unverändert in Weltkoordinaten
+    vec3 worldNormal = faceNormal(a_position.w);
     float diffuse = max(dot(worldNormal, -lightDirection), 0.0);
     v_lightIntensity = diffuse;
 
-    vec4 worldPos4 = u_worldTrans * vec4(a_position, 1.0);
+    vec4 worldPos4 = vec4(a_position.xyz + u_chunkOrigin, 1.0);
     v_worldPosition = worldPos4.xyz;
 
     vec4 viewPos = u_projViewTrans * worldPos4;
@@ -0,0 +1,82 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Misst Block-Abfragen über Welt-Koordinaten und das Verfolgen eines Strahls mit dem {@link VoxelRaycaster},
+ * wie beim Einsammeln von Äpfeln.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BlockLookupBenchmark {
+    private static final int POINTS = 1024;
+    private static final int LOAD_RADIUS = 2;
+
+    private ChunkGrid chunkGrid;
+    private final Vector3[] points = new Vector3[POINTS];
+
+    /** Wie weit der Strahl beim Einsammeln reicht. */
+    private static final float RAY_DISTANCE = 20f;
+
+    /** Nur Äpfel treffen, alles andere wird durchquert, der Strahl läuft also meist die ganze Strecke. */
+    private static final Predicate<VoxelType> IS_APPLE = type -> type == VoxelType.APPLE;
+
+    private PerspectiveCamera camera;
+    private final RaycastHit hit = new RaycastHit();
+
+    @Setup
+    public void setUp() {
+        // Die Kamera braucht die nativen Matrix-Funktionen
+        GdxNativesLoader.load();
+
+        // Die Chunks direkt auf diesem Thread generieren, bis der Lade-Radius gefüllt ist
+        chunkGrid = new ChunkGrid(1234, LOAD_RADIUS, LOAD_RADIUS + 1, Runnable::run, null);
+        Vector3 center = new Vector3(Chunk.WIDTH / 2f, 0f, Chunk.DEPTH / 2f);
+        while (!chunkGrid.isGenerationComplete()) {
+            chunkGrid.update(center);
+        }
+
+        Random random = new Random(42);
+        float extent = LOAD_RADIUS * Chunk.WIDTH;
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = new Vector3(
+                center.x + (random.nextFloat() * 2f - 1f) * extent,
+                random.nextFloat() * Chunk.HEIGHT,
+                center.z + (random.nextFloat() * 2f - 1f) * extent);
+        }
+
+        camera = new PerspectiveCamera(80, 1280, 720);
+        camera.position.set(center.x, Chunk.HEIGHT - 4f, center.z);
+        camera.direction.set(1f, -0.3f, 0.7f).nor();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void getBlockFromWorld(Blackhole blackhole) {
+        for (Vector3 point : points) {
+            blackhole.consume(chunkGrid.getBlockFromWorld(point));
+        }
+    }
+
+    @Benchmark
+    public boolean appleRaycast() {
+        return VoxelRaycaster.cast(chunkGrid, camera.position, camera.direction, RAY_DISTANCE, IS_APPLE, hit);
+    }
+}
@@ -0,0 +1,37 @@
+package net.fynn.javavoxelengine.chunk;
+
+import net.fynn.javavoxelengine.worldgen.WorldGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Erstellen eines Chunks: alle Stufen des {@link WorldGenerator} und das Packen der Abschnitte.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ChunkGenerationBenchmark {
+    private static final int SEED = 1234;
+
+    private final WorldGenerator generator = new WorldGenerator(SEED);
+
+    /**
+     * Wechselnde Positionen, damit nicht immer dasselbe Gelände generiert wird. Es sind mehr als in den
+     * Höhen-Cache des {@link net.fynn.javavoxelengine.worldgen.TerrainSampler} passen, gemessen wird also
+     * auch das Rauschen.
+     */
+    private int next;
+
+    @Benchmark
+    public Chunk generateChunk() {
+        int chunkX = next++ & 63;
+        int chunkZ = next >> 6 & 63;
+        return generator.generate(chunkX, chunkZ);
+    }
+}
@@ -0,0 +1,98 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import net.fynn.javavoxelengine.NoopGL20;
+import net.fynn.javavoxelengine.worldgen.WorldGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Meshing eines Chunks, getrennt nach dem Aufbau der Geometrie auf der CPU, für alle
+ * Abschnitte oder nur einen, und dem Upload in den {@link ChunkVertexPool}.
+ * Der Upload läuft im Headless-Backend gegen ein GL ohne Wirkung und misst daher nur den Java-Anteil.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkMeshingBenchmark {
+    @Param({"PER_FACE", "GREEDY"})
+    public ChunkMesher.Mode mode;
+
+    /** Die Detailstufe, ab 1 wird unabhängig vom Verfahren greedy gebaut. */
+    @Param({"0", "1", "3"})
+    public int level;
+
+    private HeadlessApplication application;
+    private final ChunkSnapshot snapshot = new ChunkSnapshot();
+    private final ChunkMeshData[] meshData = new ChunkMeshData[Chunk.SECTION_COUNT];
+    /** Nur der unterste Abschnitt mit dem Gelände, die anderen bleiben {@code null}. */
+    private final ChunkMeshData[] sectionOnly = new ChunkMeshData[Chunk.SECTION_COUNT];
+    private ChunkVertexPool vertexPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        application = new HeadlessApplication(new ApplicationAdapter() {}, config);
+
+        // Das Headless-Backend setzt kein GL, dieses allokiert nicht und verfälscht so den GC-Profiler nicht
+        Gdx.gl = Gdx.gl20 = new NoopGL20();
+
+        vertexPool = new ChunkVertexPool();
+        snapshot.set(new WorldGenerator(1234).generate(0, 0));
+        for (int section = 0; section < meshData.length; section++) {
+            meshData[section] = new ChunkMeshData();
+        }
+        sectionOnly[0] = meshData[0];
+        ChunkMesher.buildMeshData(snapshot, mode, level, meshData);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vertexPool.dispose();
+        application.exit();
+    }
+
+    @Benchmark
+    public ChunkMeshData[] buildMeshData() {
+        // Wie im Spiel werden dieselben Puffer für jeden Neubau wiederverwendet
+        for (ChunkMeshData data : meshData) {
+            data.clear();
+        }
+        ChunkMesher.buildMeshData(snapshot, mode, level, meshData);
+        return meshData;
+    }
+
+    /**
+     * Baut nur einen Abschnitt, wie nach dem Ändern eines einzelnen Blocks.
+     */
+    @Benchmark
+    public ChunkMeshData buildSectionMeshData() {
+        ChunkMeshData data = meshData[0];
+        data.clear();
+        ChunkMesher.buildMeshData(snapshot, mode, level, sectionOnly);
+        return data;
+    }
+
+    @Benchmark
+    public void upload() {
+        // Wie bei einem Neubau werden die Bereiche freigegeben und beim nächsten Upload wiederverwendet
+        for (ChunkMeshData data : meshData) {
+            ChunkVertexPool.Slot slot = vertexPool.upload(data);
+            if (slot != null) vertexPool.free(slot);
+        }
+    }
+}
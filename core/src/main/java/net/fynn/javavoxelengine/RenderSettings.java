@@ -0,0 +1,202 @@
+package net.fynn.javavoxelengine;
+
+import com.badlogic.gdx.math.MathUtils;
+import net.fynn.javavoxelengine.chunk.Chunk;
+
+/**
+ * Die Einstellungen für die Sichtweite, zur Laufzeit änderbar.
+ * <p>
+ * Aus der Sichtweite folgen der Nebel, der kurz davor beginnt und an ihr endet, und der Radius, in dem
+ * Chunks geladen werden. Optional passt ein Regler die Sichtweite selbst an, damit die Arbeit pro Frame
+ * unter einer Zielzeit bleibt: Ist ein Frame im Mittel zu langsam, wird die Sichtweite kleiner, bleibt
+ * genug Luft, wird sie langsam wieder grösser.
+ */
+public class RenderSettings {
+    /** Die kleinste einstellbare Sichtweite in Blöcken. */
+    public static final float MIN_RENDER_DISTANCE = Chunk.WIDTH;
+
+    /** Die grösste einstellbare Sichtweite in Blöcken. */
+    public static final float MAX_RENDER_DISTANCE = 20 * Chunk.WIDTH;
+
+    /** Der Nebel beginnt bei diesem Anteil der Sichtweite. */
+    private static final float FOG_START = 0.73f;
+
+    /** Wie stark eine neue Frame-Zeit in den Mittelwert des Reglers eingeht. */
+    private static final float SMOOTHING = 0.05f;
+
+    /** Wie lange der Regler nach einer Anpassung wartet, bis der Mittelwert sie widerspiegelt, in Sekunden. */
+    private static final float ADJUST_INTERVAL = 0.5f;
+
+    /** Über diesem Anteil der Zielzeit wird die Sichtweite kleiner, unter dem anderen grösser. */
+    private static final float SHRINK_ABOVE = 1.0f, GROW_BELOW = 0.7f;
+
+    /**
+     * Ab diesem Anteil der Zielzeit zwischen zwei Frames gilt ein Frame als verpasst, auch mit VSync. Zwischen
+     * einem und zwei Intervallen, damit Schwankungen nicht zählen, ein verpasster Bildwechsel aber schon.
+     */
+    private static final float MISSED_FRAME = 1.5f;
+
+    /** Um diese Faktoren ändert der Regler die Sichtweite pro Anpassung. */
+    private static final float SHRINK_FACTOR = 0.9f, GROW_FACTOR = 1.05f;
+
+    private float renderDistance = Chunk.CHUNK_RENDER_DISTANCE;
+    private boolean autoRenderDistance;
+    private boolean vSync = true;
+    private float targetFrameTime = 1f / 60f;
+
+    /** Die gemittelte Frame-Zeit des Reglers in Sekunden, 0 solange noch nichts gemessen wurde. */
+    private float averageFrameTime;
+    private float sinceAdjust;
+
+    /**
+     * Setzt die Sichtweite. Der Wert wird auf {@link #MIN_RENDER_DISTANCE} bis {@link #MAX_RENDER_DISTANCE} begrenzt.
+     *
+     * @param distance Die Sichtweite in Blöcken, gemessen bis zur Mitte eines Chunks.
+     */
+    public void setRenderDistance(float distance) {
+        renderDistance = MathUtils.clamp(distance, MIN_RENDER_DISTANCE, MAX_RENDER_DISTANCE);
+    }
+
+    /**
+     * Gibt die aktuelle Sichtweite zurück.
+     *
+     * @return Die Sichtweite in Blöcken.
+     */
+    public float getRenderDistance() {
+        return renderDistance;
+    }
+
+    /**
+     * Schaltet den Regler für die Sichtweite ein oder aus.
+     *
+     * @param enabled True, um die Sichtweite an die Frame-Zeit anzupassen.
+     */
+    public void setAutoRenderDistance(boolean enabled) {
+        autoRenderDistance = enabled;
+        averageFrameTime = 0f;
+        sinceAdjust = 0f;
+    }
+
+    /**
+     * Gibt an, ob der Regler für die Sichtweite eingeschaltet ist.
+     *
+     * @return True, wenn die Sichtweite an die Frame-Zeit angepasst wird.
+     */
+    public boolean isAutoRenderDistance() {
+        return autoRenderDistance;
+    }
+
+    /**
+     * Setzt die Zielzeit für den Regler als Bilder pro Sekunde.
+     *
+     * @param fps Die angestrebten Bilder pro Sekunde, grösser als 0.
+     */
+    public void setTargetFps(int fps) {
+        targetFrameTime = 1f / Math.max(1, fps);
+    }
+
+    /**
+     * Gibt die Zielzeit des Reglers als Bilder pro Sekunde zurück.
+     *
+     * @return Die angestrebten Bilder pro Sekunde.
+     */
+    public int getTargetFps() {
+        return Math.round(1f / targetFrameTime);
+    }
+
+    /**
+     * Teilt dem Regler mit, ob VSync eingeschaltet ist. Ohne VSync misst er immer die ganze Zeit zwischen zwei
+     * Frames, siehe {@link #update(float, float)}.
+     *
+     * @param enabled True, wenn das Tauschen der Puffer auf den Monitor wartet.
+     */
+    public void setVSync(boolean enabled) {
+        vSync = enabled;
+    }
+
+    /**
+     * Gibt an, ob der Regler von eingeschaltetem VSync ausgeht.
+     *
+     * @return True, wenn VSync eingeschaltet ist.
+     */
+    public boolean isVSync() {
+        return vSync;
+    }
+
+    /**
+     * Gibt die gemittelte Frame-Zeit zurück, die der Regler zuletzt gesehen hat.
+     *
+     * @return Die Zeit in Sekunden, 0 wenn der Regler aus ist.
+     */
+    public float getAverageFrameTime() {
+        return averageFrameTime;
+    }
+
+    /**
+     * Gibt die Entfernung zurück, ab der der Nebel beginnt.
+     *
+     * @return Die Entfernung in Blöcken.
+     */
+    public float getFogStart() {
+        return renderDistance * FOG_START;
+    }
+
+    /**
+     * Gibt die Entfernung zurück, ab der alles im Nebel verschwindet.
+     *
+     * @return Die Entfernung in Blöcken.
+     */
+    public float getFogEnd() {
+        return renderDistance;
+    }
+
+    /**
+     * Gibt den Radius zurück, in dem Chunks für die aktuelle Sichtweite geladen sein müssen: alle Chunks,
+     * deren Mitte in der Sichtweite liegt, und ein Ring darum, damit ihre Ränder richtig gebaut werden.
+     *
+     * @return Der Radius in Chunks.
+     */
+    public int getLoadRadius() {
+        return MathUtils.ceil(renderDistance / Chunk.WIDTH) + 1;
+    }
+
+    /**
+     * Gibt den Radius zurück, ausserhalb dessen Chunks entfernt werden. Er liegt etwas ausserhalb des
+     * Lade-Radius, damit Chunks an der Grenze nicht ständig geladen und entfernt werden.
+     *
+     * @return Der Radius in Chunks.
+     */
+    public int getUnloadRadius() {
+        return getLoadRadius() + 2;
+    }
+
+    /**
+     * Führt den Regler nach. Muss einmal pro Frame aufgerufen werden, wenn er eingeschaltet ist.
+     * Als Frame-Zeit sollte nur die Arbeit des Frames ohne das Warten auf VSync gemessen werden, sonst sieht
+     * der Regler nie, wie viel Luft noch bleibt. Das Tauschen der Puffer und das Warten auf die GPU fehlen darin
+     * aber. Deshalb zählt die längere der beiden Zeiten, wenn {@code delta} deutlich über der Zielzeit liegt, z.B.
+     * weil die GPU einen Bildwechsel verpasst hat, und ohne VSync immer, denn dann wartet {@code delta} nur auf den
+     * Frame.
+     *
+     * @param delta Die vergangene Zeit seit dem letzten Frame in Sekunden.
+     * @param frameTime Die Arbeitszeit des letzten Frames auf der CPU in Sekunden.
+     */
+    public void update(float delta, float frameTime) {
+        if (!autoRenderDistance) return;
+
+        boolean missed = delta > targetFrameTime * MISSED_FRAME;
+        float measured = vSync && !missed ? frameTime : Math.max(frameTime, delta);
+        averageFrameTime = averageFrameTime == 0f ? measured
+            : averageFrameTime + (measured - averageFrameTime) * SMOOTHING;
+        sinceAdjust += delta;
+        if (sinceAdjust < ADJUST_INTERVAL) return;
+
+        if (averageFrameTime > targetFrameTime * SHRINK_ABOVE) {
+            setRenderDistance(renderDistance * SHRINK_FACTOR);
+            sinceAdjust = 0f;
+        } else if (averageFrameTime < targetFrameTime * GROW_BELOW) {
+            setRenderDistance(renderDistance * GROW_FACTOR);
+            sinceAdjust = 0f;
+        }
+    }
+}
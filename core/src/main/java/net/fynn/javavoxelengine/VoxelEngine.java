@@ -4,23 +4,19 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.g3d.*;
-import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
-import com.badlogic.gdx.graphics.g3d.environment.*;
-import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
-import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import net.fynn.javavoxelengine.challenge.AppleCollector;
 import net.fynn.javavoxelengine.challenge.ChallengeManager;
-import net.fynn.javavoxelengine.chunk.GenerateVoxelInstances;
+import net.fynn.javavoxelengine.chunk.ChunkMesher;
+import net.fynn.javavoxelengine.chunk.ChunkRenderer;
 import net.fynn.javavoxelengine.gui.ThisImGui;
 import net.fynn.javavoxelengine.player.Crosshair;
 import net.fynn.javavoxelengine.player.Player;
 import net.fynn.javavoxelengine.chunk.Chunk;
 import net.fynn.javavoxelengine.chunk.ChunkGrid;
+import net.fynn.javavoxelengine.storage.WorldStorage;
 import net.fynn.javavoxelengine.voxel.VoxelModelCache;
 
 import java.util.Random;
@@ -34,13 +30,17 @@ import java.util.Random;
  */
 public class VoxelEngine extends Game {
     // Rendering
-    private ModelBatch modelBatch;
-    private Environment environment;
+    private final RenderSettings renderSettings;
+    private ChunkRenderer chunkRenderer;
     private ThisImGui thisImGui;
     private Crosshair crosshair;
 
+    /** Die sichtbaren Chunks des aktuellen Frames, wird jeden Frame geleert und wiederverwendet. */
+    private final Array<Chunk> visibleChunks = new Array<>();
+
     // World & Gameplay
     private ChunkGrid chunkGrid;
+    private WorldStorage worldStorage;
     private Player player;
     private long worldSeed;
 
@@ -48,67 +48,75 @@ public class VoxelEngine extends Game {
     private ChallengeManager challengeManager;
     private AppleCollector appleCollector;
 
+    /**
+     * Erstellt die Engine mit der Standard-Sichtweite.
+     */
+    public VoxelEngine() {
+        this(new RenderSettings());
+    }
+
+    /**
+     * Erstellt die Engine mit eigenen Einstellungen, z.B. aus der Konfiguration des Launchers.
+     *
+     * @param renderSettings Die Einstellungen für die Sichtweite, werden zur Laufzeit verändert.
+     */
+    public VoxelEngine(RenderSettings renderSettings) {
+        this.renderSettings = renderSettings;
+    }
+
     /**
      * Initialisiert die Voxel-Engine und deren Komponenten.
      */
     @Override
     public void create() {
         // ─────────────────────────────────────────────────────────────
-        // 1) Welt-Seed erzeugen
+        // 1) Gespeicherte Welt öffnen, Welt-Seed laden oder neu erzeugen
         // ─────────────────────────────────────────────────────────────
-        worldSeed = new Random().nextLong();
+        worldStorage = new WorldStorage();
+        worldSeed = worldStorage.loadOrCreateSeed(new Random().nextLong());
         Gdx.app.log("VoxelEngine", "World seed: " + worldSeed);
 
         // ─────────────────────────────────────────────────────────────
-        // 2) Shader laden
+        // 2) Shader laden, Chunk-Renderer erstellen
+        //    (das Licht ist im Shader fest eingestellt, der Nebel folgt der Sichtweite)
         // ─────────────────────────────────────────────────────────────
         String vertexCode = loadShaderFile("shaders/vertex.glsl");
         String fragmentCode = loadShaderFile("shaders/fragment.glsl");
-
-        DefaultShader.Config cfg = new DefaultShader.Config(vertexCode, fragmentCode);
-        cfg.vertexShader = vertexCode;
-        cfg.fragmentShader = fragmentCode;
-
-        modelBatch = new ModelBatch(new DefaultShaderProvider(cfg));
+        chunkRenderer = new ChunkRenderer(vertexCode, fragmentCode);
 
         // ─────────────────────────────────────────────────────────────
-        // 3) Licht-Umgebung
-        // ─────────────────────────────────────────────────────────────
-        environment = new Environment();
-
-        // ─────────────────────────────────────────────────────────────
-        // 4) Voxel-Modell-Cache konfigurieren
+        // 3) Voxel-Modell-Cache konfigurieren
         // ─────────────────────────────────────────────────────────────
         VoxelModelCache.initialize(1f, 1f, 1f);
 
         // ─────────────────────────────────────────────────────────────
-        // 5) Welt-Chunks und Spieler initialisieren
+        // 4) Welt-Chunks und Spieler initialisieren
+        //    (die Chunks werden im Hintergrund um den Spieler geladen oder generiert, die nächsten zuerst)
         // ─────────────────────────────────────────────────────────────
-        chunkGrid = new ChunkGrid(20, 20, (int) worldSeed);
+        chunkGrid = new ChunkGrid((int) worldSeed, renderSettings.getLoadRadius(), renderSettings.getUnloadRadius(),
+            worldStorage);
         player = new Player(chunkGrid);
-        Camera cam = player.getCamera();
 
-        // Kamera zentral über der Welt platzieren
-        float halfWorldX = chunkGrid.getGridWidth() * Chunk.WIDTH / 2f;
-        float halfWorldZ = chunkGrid.getGridDepth() * Chunk.DEPTH / 2f;
-        cam.position.set(halfWorldX, 10f, halfWorldZ);
-        cam.update();
+        // Spieler auf das Gelände in der Mitte des ersten Chunks stellen, steckt er z.B. in einem Baum, steigt er heraus
+        int spawnX = Chunk.WIDTH / 2, spawnZ = Chunk.DEPTH / 2;
+        int spawnY = chunkGrid.getGenerator().getSampler().getHeight(spawnX, spawnZ) + 1;
+        player.setPosition(spawnX + 0.5f, spawnY, spawnZ + 0.5f);
 
         // ─────────────────────────────────────────────────────────────
-        // 6) OpenGL-Einstellungen (Backface Culling)
+        // 5) OpenGL-Einstellungen (Backface Culling)
         // ─────────────────────────────────────────────────────────────
         Gdx.gl.glEnable(GL20.GL_CULL_FACE);
         Gdx.gl.glCullFace(GL20.GL_BACK);
         Gdx.gl.glFrontFace(GL20.GL_CCW);
 
         // ─────────────────────────────────────────────────────────────
-        // 7) Gameplay-Logik: Challenges
+        // 6) Gameplay-Logik: Challenges
         // ─────────────────────────────────────────────────────────────
         challengeManager = new ChallengeManager();
         appleCollector = new AppleCollector();
 
         // ─────────────────────────────────────────────────────────────
-        // 8) Benutzeroberfläche (Crosshair + ImGui)
+        // 7) Benutzeroberfläche (Crosshair + ImGui)
         // ─────────────────────────────────────────────────────────────
         crosshair = new Crosshair();
         thisImGui = new ThisImGui();
@@ -119,6 +127,8 @@ public class VoxelEngine extends Game {
      */
     @Override
     public void render() {
+        long frameStart = System.nanoTime();
+
         // ─────────────────────────────────────────────────────────────
         // 1) Bildschirm vorbereiten
         // ─────────────────────────────────────────────────────────────
@@ -127,19 +137,17 @@ public class VoxelEngine extends Game {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
 
         // ─────────────────────────────────────────────────────────────
-        // 2) Spieler-Logik aktualisieren (Bewegung, Kamera, etc.)
+        // 2) Sichtweite übernehmen, Chunks um den Spieler laden/entladen,
+        //    Spieler-Logik aktualisieren (Bewegung, Kamera, etc.)
         // ─────────────────────────────────────────────────────────────
-        player.update(Gdx.graphics.getDeltaTime());
+        float renderDistance = renderSettings.getRenderDistance();
+        chunkGrid.setRadius(renderSettings.getLoadRadius(), renderSettings.getUnloadRadius());
+        chunkRenderer.setFog(renderSettings.getFogStart(), renderSettings.getFogEnd());
+        // Die Far-Plane bis hinter die Ecken der entferntesten Chunks
+        player.getCamera().far = renderDistance + Chunk.WIDTH;
 
-        environment.clear();
-        environment.set(new ColorAttribute(
-            ColorAttribute.AmbientLight,
-            0.2f,
-            0.2f + 0.6f,
-            0.2f,
-            1f
-        ));
-        environment.add(new DirectionalLight().set(1f, 1f, 1f, -1f, -0.8f, -0.2f));
+        chunkGrid.update(player.getCamera().position);
+        player.update(Gdx.graphics.getDeltaTime());
 
         // ─────────────────────────────────────────────────────────────
         // 3) Culling nochmal sicherstellen
@@ -151,22 +159,13 @@ public class VoxelEngine extends Game {
         // ─────────────────────────────────────────────────────────────
         // 4) Welt rendern
         // ─────────────────────────────────────────────────────────────
-        modelBatch.begin(player.getCamera());
-        int renderedModelCount = 0;
-
-        for (Chunk chunk : chunkGrid.getChunks()) {
-            if (!chunk.shouldRenderChunk(chunk, player)) continue;
+        // Fertig gebaute Chunk-Meshes hochladen (begrenzte Anzahl pro Frame)
+        ChunkMesher.update();
 
-            Array<ModelInstance> voxelInstances = new Array<>();
-            GenerateVoxelInstances.gen(chunk, voxelInstances);
+        // Sichtbare, nicht verdeckte Chunks, von vorne nach hinten (weniger Überzeichnen)
+        chunkGrid.collectVisibleChunks(player.getCamera(), renderDistance, visibleChunks);
 
-            for (ModelInstance instance : voxelInstances) {
-                modelBatch.render(instance, environment);
-                renderedModelCount++;
-            }
-        }
-
-        modelBatch.end();
+        int renderedChunkCount = chunkRenderer.render(player.getCamera(), visibleChunks);
 
         // ─────────────────────────────────────────────────────────────
         // 5) Crosshair anzeigen
@@ -196,7 +195,14 @@ public class VoxelEngine extends Game {
         // ─────────────────────────────────────────────────────────────
         // 9) Benutzeroberfläche (ImGui)
         // ─────────────────────────────────────────────────────────────
-        thisImGui.render(player.getCamera(), renderedModelCount, challengeManager, chunkGrid);
+        thisImGui.render(player.getCamera(), renderedChunkCount, chunkRenderer.getDrawCalls(), challengeManager, chunkGrid,
+            renderSettings);
+
+        // ─────────────────────────────────────────────────────────────
+        // 10) Sichtweite an die Frame-Zeit anpassen, falls eingeschaltet
+        //     (die Arbeit auf der CPU, ohne VSync zählt auch die Zeit seit dem letzten Frame)
+        // ─────────────────────────────────────────────────────────────
+        renderSettings.update(Gdx.graphics.getDeltaTime(), (System.nanoTime() - frameStart) / 1e9f);
     }
 
     /**
@@ -205,9 +211,13 @@ public class VoxelEngine extends Game {
     @Override
     public void dispose() {
         // ─────────────────────────────────────────────────────────────
-        // Ressourcen freigeben
+        // Veränderte Chunks speichern, Ressourcen freigeben
         // ─────────────────────────────────────────────────────────────
-        modelBatch.dispose();
+        chunkGrid.dispose();
+        chunkGrid.saveAll();
+        worldStorage.close();
+        chunkRenderer.dispose();
+        ChunkMesher.dispose();
         VoxelModelCache.dispose();
         crosshair.dispose();
         thisImGui.dispose();
@@ -9,15 +9,21 @@ package net.fynn.javavoxelengine.challenge;
  */
 
 import com.badlogic.gdx.graphics.PerspectiveCamera;
-import com.badlogic.gdx.math.Vector3;
-import net.fynn.javavoxelengine.chunk.Chunk;
 import net.fynn.javavoxelengine.chunk.ChunkGrid;
-import net.fynn.javavoxelengine.chunk.ChunkMesher;
+import net.fynn.javavoxelengine.chunk.RaycastHit;
+import net.fynn.javavoxelengine.chunk.VoxelRaycaster;
 import net.fynn.javavoxelengine.voxel.VoxelType;
 
 import java.lang.annotation.Documented;
+import java.util.function.Predicate;
 
 public class AppleCollector {
+    /** Wie weit ein Apfel entfernt sein darf, in Blöcken. */
+    private static final float MAX_DISTANCE = 20f;
+
+    private static final Predicate<VoxelType> IS_APPLE = type -> type == VoxelType.APPLE;
+
+    private final RaycastHit hit = new RaycastHit();
 
     /**
      * Eine Klasse, die den ray trace um einen apfel aufzusammeln durchführt.
@@ -36,32 +42,15 @@ public class AppleCollector {
         );
          */
 
-        // 2) Cam Pos als Origin nicht den Ray
-        Vector3 origin    = new Vector3(camera.position);
-        Vector3 direction = new Vector3(camera.direction).nor();
-
-        // 3) Mit der setpSize am Ray entlang
-        final float maxDistance = 20f;
-        final float stepSize    = 0.1f; // 0.1 blocks / step
-        Vector3 point = new Vector3();
+        if (!challengeManager.isActive()) return;
 
-        for (float t = stepSize; t <= maxDistance; t += stepSize) {
-
-            point.set(origin).mulAdd(direction, t);
-
-            VoxelType block = chunkGrid.getBlockFromWorld(point);
-            if (block == VoxelType.APPLE && challengeManager.isActive()) {
-                chunkGrid.setBlockFromWorld(point, VoxelType.AIR);
-
-                // Get the chunk at the apple's position and invalidate it
-                Chunk chunk = chunkGrid.getChunkAtWorld(point.x, point.z);
-                if (chunk != null) {
-                    ChunkMesher.invalidateChunkModel(chunk);
-                }
+        // 2) Cam Pos als Origin nicht den Ray
+        // 3) Block für Block am Ray entlang, Blätter und alles andere vor dem Apfel wird durchquert
+        if (VoxelRaycaster.cast(chunkGrid, camera.position, camera.direction, MAX_DISTANCE, IS_APPLE, hit)) {
+            // Baut auch das Mesh des Chunks neu
+            chunkGrid.setBlock(hit.x, hit.y, hit.z, VoxelType.AIR);
 
-                challengeManager.addOneAppleAndCheckComplete();
-                break;
-            }
+            challengeManager.addOneAppleAndCheckComplete();
         }
     }
 
@@ -1,19 +1,19 @@
 package net.fynn.javavoxelengine.chunk;
 
-import com.badlogic.gdx.math.Frustum;
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
 
-import make.some.noise.Noise;
-import net.fynn.javavoxelengine.player.Player;
 import net.fynn.javavoxelengine.voxel.VoxelType;
 
-import java.util.Random;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Repräsentiert einen Chunk in der Voxel-Welt.
- * Ein Chunk besteht aus einem 3D-Array von Voxeltypen und hat eine feste Größe.
+ * Ein Chunk besteht aus übereinanderliegenden {@link ChunkSection Abschnitten} und hat eine feste Größe.
+ * Neue Chunks erstellt der {@link net.fynn.javavoxelengine.worldgen.WorldGenerator}.
  */
 public class Chunk {
     /** Die Breite des Chunks. */
@@ -25,39 +25,167 @@ public class Chunk {
     /** Die Höhe des Chunks. */
     public static final int HEIGHT = 48;
 
-    /** Die Höhe eines Baumstammes*/
-    public static final int TRUNK_HEIGHT = 7;
+    /** Anzahl der Voxel in einer horizontalen Schicht des Chunks. */
+    public static final int LAYER_SIZE = WIDTH * DEPTH;
 
-    /**Der radius der Blätter*/
-    public static final int LEAF_RADIUS  = 3;
+    /** Anzahl der Voxel im gesamten Chunk. */
+    public static final int VOLUME = LAYER_SIZE * HEIGHT;
 
+    /** Die Standard-Sichtweite in Blöcken, zur Laufzeit über die {@code RenderSettings} änderbar. */
     public static final float CHUNK_RENDER_DISTANCE = 150f;
-    public static final float CHUNK_RENDER_DISTANCE_SQUARED = CHUNK_RENDER_DISTANCE * CHUNK_RENDER_DISTANCE;
 
-    /** Die Voxeltypen, die diesen Chunk bilden. */
-    public final VoxelType[][][] blocks;
+    /** Anzahl der vertikalen Abschnitte pro Chunk. */
+    public static final int SECTION_COUNT = HEIGHT / ChunkSection.HEIGHT;
+
+    private static final byte AIR_ID = VoxelType.AIR.getId();
+
+    /** Der Puffer für die IDs eines Abschnitts beim Berechnen der Höhenkarte, einer pro Thread. */
+    private static final ThreadLocal<byte[]> HEIGHT_IDS = ThreadLocal.withInitial(() -> new byte[ChunkSection.VOLUME]);
+
+    /** Die Seiten eines Chunks für {@link #getNeighbor(int)}: -X, +X, -Z und +Z. */
+    public static final int WEST = 0, EAST = 1, SOUTH = 2, NORTH = 3;
+
+    /**
+     * Die Abschnitte, die diesen Chunk bilden, von unten nach oben.
+     * Ein linearer Index (siehe {@link #index(int, int, int)}) liegt im Abschnitt {@code index / ChunkSection.VOLUME}.
+     */
+    private final ChunkSection[] sections;
 
     /** Die Ursprungskoordinaten des Chunks. */
     public final int originX, originY, originZ;
 
     private BoundingBox boundingBox;
 
+    /** Ob sich der Chunk seit dem letzten Speichern verändert hat (oder noch nie gespeichert wurde). */
+    private volatile boolean dirty;
+
+    /** Die geladenen Nachbarn, Index siehe {@link #WEST} usw. Wird vom {@link ChunkGrid} gepflegt. */
+    private final Chunk[] neighbors = new Chunk[4];
+
     /**
-     * Erstellt einen neuen Chunk und generiert dessen Gelände unter Verwendung von Rauschen.
+     * Pro Spalte (Index {@code z * WIDTH + x}) das Y des höchsten Blocks, der keine Luft ist, und das des höchsten
+     * festen Blocks, siehe {@link VoxelType#isSolid()}. -1, wenn es keinen gibt. Wird bei jedem Schreiben nachgeführt.
+     */
+    private final byte[] surfaceHeights = new byte[LAYER_SIZE];
+    private final byte[] solidHeights = new byte[LAYER_SIZE];
+
+    /** Pro Abschnitt, welche Seiten durch Luft verbunden sind, siehe {@link ChunkConnectivity}. Wird beim Meshing berechnet. */
+    private final int[] connectivity = new int[SECTION_COUNT];
+
+    /**
+     * Erstellt einen Chunk aus bereits vorhandenen Abschnitten, z.B. beim Laden von der Festplatte oder nach der Generierung.
      *
-     * @param seed Der Seed für den Perlin Generator.
      * @param originX Die X-Koordinate des Ursprungs des Chunks.
      * @param originY Die Y-Koordinate des Ursprungs des Chunks.
      * @param originZ Die Z-Koordinate des Ursprungs des Chunks.
+     * @param sections Die {@link #SECTION_COUNT} Abschnitte von unten nach oben.
      */
-    public Chunk(int seed, int originX, int originY, int originZ) {
+    public Chunk(int originX, int originY, int originZ, ChunkSection[] sections) {
+        this(originX, originY, originZ, sections, null);
+    }
+
+    private Chunk(int originX, int originY, int originZ, ChunkSection[] sections, byte[] ids) {
         this.originX = originX;
         this.originY = originY;
         this.originZ = originZ;
-        blocks = new VoxelType[WIDTH][HEIGHT][DEPTH];
-        generateTerrain(seed);
-        generateTrees(seed);
+        this.sections = sections;
+        computeHeights(ids);
         createBoundingBox();
+        Arrays.fill(connectivity, ChunkConnectivity.ALL);
+    }
+
+    /**
+     * Erstellt einen Chunk aus den Voxel-IDs aller {@link #VOLUME} Voxel, z.B. nach der Generierung.
+     * Die Abschnitte sind danach schon kompakt, und die Höhenkarte wird direkt aus den IDs berechnet.
+     *
+     * @param originX Die X-Koordinate des Ursprungs des Chunks.
+     * @param originY Die Y-Koordinate des Ursprungs des Chunks.
+     * @param originZ Die Z-Koordinate des Ursprungs des Chunks.
+     * @param ids Die Voxel-IDs, Index siehe {@link #index(int, int, int)}. Werden nicht behalten.
+     * @return Der neue Chunk.
+     */
+    public static Chunk fromIds(int originX, int originY, int originZ, byte[] ids) {
+        ChunkSection[] sections = new ChunkSection[SECTION_COUNT];
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            sections[i] = ChunkSection.fromIds(ids, i * ChunkSection.VOLUME);
+        }
+        return new Chunk(originX, originY, originZ, sections, ids);
+    }
+
+    /**
+     * Liest einen Chunk, der mit {@link #write(DataOutputStream)} gespeichert wurde.
+     *
+     * @param in Der Eingabestrom.
+     * @param originX Die X-Koordinate des Ursprungs des Chunks.
+     * @param originY Die Y-Koordinate des Ursprungs des Chunks.
+     * @param originZ Die Z-Koordinate des Ursprungs des Chunks.
+     * @return Der gelesene Chunk.
+     * @throws IOException Wenn der Strom nicht gelesen werden kann.
+     */
+    public static Chunk read(DataInputStream in, int originX, int originY, int originZ) throws IOException {
+        int count = in.readUnsignedByte();
+        if (count != SECTION_COUNT) {
+            throw new IOException("Unexpected section count " + count);
+        }
+        ChunkSection[] sections = new ChunkSection[SECTION_COUNT];
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            sections[i] = ChunkSection.read(in);
+        }
+        return new Chunk(originX, originY, originZ, sections);
+    }
+
+    /**
+     * Schreibt alle Abschnitte des Chunks in einen Strom.
+     *
+     * @param out Der Ausgabestrom.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        write(out, sections);
+    }
+
+    /**
+     * Schreibt Abschnitte im Format von {@link #write(DataOutputStream)}, z.B. die von {@link #copySections()}.
+     *
+     * @param out Der Ausgabestrom.
+     * @param sections Die {@link #SECTION_COUNT} Abschnitte von unten nach oben.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     */
+    public static void write(DataOutputStream out, ChunkSection[] sections) throws IOException {
+        out.writeByte(SECTION_COUNT);
+        for (ChunkSection section : sections) {
+            section.write(out);
+        }
+    }
+
+    /**
+     * Kopiert alle Abschnitte, damit sie auf einem anderen Thread gelesen werden können, während der Chunk
+     * weiter verändert wird.
+     *
+     * @return Die Kopien von unten nach oben.
+     */
+    public ChunkSection[] copySections() {
+        ChunkSection[] copies = new ChunkSection[SECTION_COUNT];
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            copies[i] = sections[i].copy();
+        }
+        return copies;
+    }
+
+    /**
+     * Gibt an, ob der Chunk seit dem letzten Speichern verändert wurde.
+     *
+     * @return True, wenn der Chunk gespeichert werden muss.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Markiert den Chunk als gespeichert.
+     */
+    public void markClean() {
+        dirty = false;
     }
 
     /**
@@ -79,161 +207,95 @@ public class Chunk {
     }
 
     /**
-     * Generiert das Gelände des Chunks unter Verwendung von Perlin-Rauschen.
+     * Ermittelt den höchsten Y wert an einem X und Z wert, an dem keine Luft ist. Kommt aus der Höhenkarte
+     * des Chunks und kostet daher nur einen Array-Zugriff.
      *
-     * @param seed Der Seed für den Perlin Generator.
+     * @param x - X position
+     * @param z - Z position
+     * @return - Die Höhe / Y position, -1 wenn die Spalte leer ist
      */
-    public void generateTerrain(int seed) {
-        // Erstellen eines Generator (MakeSomeNoise-Bibliothek) mit dem angegebenen Seed.
-        Noise noise = new Noise(seed);
-
-        // Parameter: Skalieren der Rauschkoordinaten und Auswahl einer maximalen Höhe.
-        int maxTerrainHeight = HEIGHT - 20; // z.B. 255/4 ~ 63 Blöcke maximale Geländehöhe
-
-        for (int x = 0; x < WIDTH; x++) {
-            for (int z = 0; z < DEPTH; z++) {
-                // Generieren eines Rauschwerts (in [-1,1]) und Normalisieren auf [0, 1].
-                double n = noise.getPerlin((originX + x), (originZ + z));
-                int terrainHeight = (int) (((n + 1) / 2) * maxTerrainHeight);
-                for (int y = 0; y < HEIGHT; y++) {
-                    if (y <= terrainHeight) {
-                        // Einfache Schichtung:
-                        if (y < terrainHeight - 3) {
-                            blocks[x][y][z] = VoxelType.STONE;
-                        } else if (y < terrainHeight) {
-                            blocks[x][y][z] = VoxelType.DIRT;
-                        } else {
-                            blocks[x][y][z] = VoxelType.GRASS;
-                        }
-                    } else {
-                        blocks[x][y][z] = VoxelType.AIR;
-                    }
-                }
-            }
-        }
+    public int getSurfaceHeight(int x, int z) {
+        return surfaceHeights[z * WIDTH + x];
     }
 
     /**
-     * Generiert Bäume im Chunk.
-     * Die Bäume sind entweder Hell- oder Dunkelgrün, mit variablem Stamm,
-     * zusätzlichem Ast-Detail und spawn keinem an den Chunk-Rändern.
+     * Ermittelt den höchsten festen Block einer Spalte, auf dem man stehen kann (siehe {@link VoxelType#isSolid()}).
+     * Anders als bei {@link #getSurfaceHeight(int, int)} zählen Blätter und Äpfel nicht.
      *
-     * @param seed Der Seed für die zufällige Generierung.
+     * @param x Die X-Koordinate der Spalte.
+     * @param z Die Z-Koordinate der Spalte.
+     * @return Das Y des höchsten festen Blocks, -1 wenn es keinen gibt.
      */
-    public void generateTrees(int seed) {
-        // Deterministischer RNG pro Chunk
-        long mix = ((long)originX * 73856093L) ^ ((long)originZ * 19349663L) ^ seed;
-        Random rand = new Random(mix);
-
-        // 70% Chance, einen Baum zu spawnen
-        if (rand.nextDouble() >= 0.7) return;
-
-        // Abstand zu den Chunk-Rändern in Blöcken
-        final int BORDER = 4;
-        // Wähle zufällige (tx,tz) mit mind. BORDER Abstand zu Rand
-        int tx = BORDER + rand.nextInt(WIDTH  - 2 * BORDER);
-        int tz = BORDER + rand.nextInt(DEPTH  - 2 * BORDER);
-
-        // Finde Oberflächenhöhe
-        int ty = getSurfaceHeight(tx, tz);
-        if (ty < 0 || ty + TRUNK_HEIGHT + LEAF_RADIUS + 1 >= HEIGHT) return;
-
-        // Variierende Stammhöhe und Blatt-Radius
-        int trunkHeight = TRUNK_HEIGHT - 1 + rand.nextInt(3);          // z.B. TRUNK_HEIGHT±1
-        int leafRadius  = LEAF_RADIUS  - 1 + rand.nextInt(3);          // z.B. LEAF_RADIUS±1
-
-        // Blatt-Farbe
-        VoxelType leafType = rand.nextBoolean() ? VoxelType.LEAVES_LIGHT : VoxelType.LEAVES_DARK;
-
-        // 1) Stamm aufbauen
-        for (int i = 1; i <= trunkHeight; i++) {
-            setBlock(tx, ty + i, tz, VoxelType.WOOD);
-        }
+    public int getSolidHeight(int x, int z) {
+        return solidHeights[z * WIDTH + x];
+    }
 
-        // 2) Ein paar zufällige Seitentriebe / Äste
-        for (int dir = 0; dir < 4; dir++) {
-            if (rand.nextDouble() < 0.25) {
-                int branchY = ty + 2 + rand.nextInt(trunkHeight - 2);
-                int dx = (dir == 0 ?  1 : dir == 1 ? -1 : 0);
-                int dz = (dir == 2 ?  1 : dir == 3 ? -1 : 0);
-                int bx = tx + dx, bz = tz + dz;
-                if (inBounds(bx, branchY, bz)) {
-                    setBlock(bx, branchY, bz, VoxelType.WOOD);
-                    // Spitze mit Blättern
-                    for (int lx = bx - 1; lx <= bx + 1; lx++) {
-                        for (int lz = bz - 1; lz <= bz + 1; lz++) {
-                            int ly = branchY;
-                            if (inBounds(lx, ly, lz) && getBlock(lx, ly, lz) == VoxelType.AIR) {
-                                setBlock(lx, ly, lz, leafType);
-                            }
-                        }
+    /**
+     * Berechnet die Höhenkarte aller Spalten neu, z.B. nachdem der Chunk geladen oder generiert wurde.
+     * Die Abschnitte werden von oben nach unten durchsucht, Abschnitte ganz aus Luft übersprungen.
+     * Sobald jede Spalte einen festen Block hat, ist die Suche fertig.
+     *
+     * @param ids Die IDs des ganzen Chunks, oder {@code null}, dann wird jeder Abschnitt einmal entpackt.
+     */
+    private void computeHeights(byte[] ids) {
+        Arrays.fill(surfaceHeights, (byte) -1);
+        Arrays.fill(solidHeights, (byte) -1);
+        int open = LAYER_SIZE;
+        byte[] buffer = ids != null ? ids : HEIGHT_IDS.get();
+        for (int section = SECTION_COUNT - 1; section >= 0 && open > 0; section--) {
+            if (sections[section].getUniformType() == VoxelType.AIR) continue;
+
+            int offset = 0;
+            if (ids != null) {
+                offset = section * ChunkSection.VOLUME;
+            } else {
+                sections[section].copyIds(buffer, 0);
+            }
+            int bottom = section * ChunkSection.HEIGHT;
+            for (int y = bottom + ChunkSection.HEIGHT - 1; y >= bottom; y--) {
+                int i = offset + (y - bottom) * LAYER_SIZE;
+                for (int column = 0; column < LAYER_SIZE; column++, i++) {
+                    if (solidHeights[column] >= 0 || buffer[i] == AIR_ID) continue;
+
+                    if (surfaceHeights[column] < 0) surfaceHeights[column] = (byte) y;
+                    if (VoxelType.fromId(buffer[i]).isSolid()) {
+                        solidHeights[column] = (byte) y;
+                        open--;
                     }
                 }
             }
         }
+    }
 
-        // 3) Blattkrone als geschichtete Kreise (sphärisch)
-        int canopyHeight = 2 + rand.nextInt(2); // Höhe der Krone: 2–3 Ebenen
-        for (int dy = 0; dy <= canopyHeight; dy++) {
-            // Radius nimmt nach oben ab
-            float layerFraction = dy / (float) canopyHeight;
-            float layerRadius   = leafRadius * (1f - layerFraction) + 0.5f;
-
-            int intRadius = MathUtils.ceil(layerRadius);
-            int yLevel    = ty + trunkHeight + dy;
-
-            for (int dx = -intRadius; dx <= intRadius; dx++) {
-                for (int dz = -intRadius; dz <= intRadius; dz++) {
-                    // Kreisform: (dx, dz) im Radius?
-                    if (dx*dx + dz*dz <= layerRadius*layerRadius) {
-                        int lx = tx + dx;
-                        int lz = tz + dz;
-                        if (!inBounds(lx, yLevel, lz)) continue;
-
-                        // Leichtes Zufalls-Muster, damit die Krone nicht perfekt symmetrisch wird
-                        if (rand.nextFloat() < 0.9f) {
-                            if (getBlock(lx, yLevel, lz) == VoxelType.AIR) {
-                                setBlock(lx, yLevel, lz, leafType);
-                            }
-                        }
-                    }
-                }
-            }
+    /**
+     * Führt die Höhenkarte einer Spalte nach, nachdem {@code fromY} bis {@code toY} mit einem Typ gefüllt wurden.
+     * Nur wenn dabei der bisher höchste Block entfernt wurde, wird darunter gesucht.
+     */
+    private void updateHeights(int x, int z, int fromY, int toY, VoxelType type) {
+        int column = z * WIDTH + x;
+
+        int surface = surfaceHeights[column];
+        if (type != VoxelType.AIR) {
+            if (toY > surface) surfaceHeights[column] = (byte) toY;
+        } else if (surface >= fromY && surface <= toY) {
+            surfaceHeights[column] = (byte) findHeight(x, fromY - 1, z, false);
         }
 
-        // 4) Äpfel unter zufälligen Blättern
-        for (int dx = -leafRadius; dx <= leafRadius; dx++) {
-            for (int dz = -leafRadius; dz <= leafRadius; dz++) {
-                if (Math.abs(dx) + Math.abs(dz) <= leafRadius) {
-                    int lx = tx + dx, lz = tz + dz;
-                    for (int dy = trunkHeight; dy <= trunkHeight + 1; dy++) {
-                        int ly = ty + dy;
-                        if (inBounds(lx, ly, lz) && getBlock(lx, ly, lz) != VoxelType.AIR) {
-                            if (rand.nextDouble() < 0.2) {
-                                if (inBounds(lx, ly - 1, lz) && getBlock(lx, ly - 1, lz) == VoxelType.AIR) {
-                                    setBlock(lx, ly - 1, lz, VoxelType.APPLE);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        int solid = solidHeights[column];
+        if (type.isSolid()) {
+            if (toY > solid) solidHeights[column] = (byte) toY;
+        } else if (solid >= fromY && solid <= toY) {
+            solidHeights[column] = (byte) findHeight(x, fromY - 1, z, true);
         }
     }
 
-
-
     /**
-     * Ermittelt den höchsten Y wert an einem X und Z wert
-     *
-     * @param x - X position
-     * @param z - Z position
-     * @return - Die Höhe / Y position
+     * Sucht von {@code fromY} nach unten den ersten Block, der keine Luft bzw. fest ist.
      */
-    public int getSurfaceHeight(int x, int z) {
-        for (int y = HEIGHT - 1; y >= 0; y--) {
+    private int findHeight(int x, int fromY, int z, boolean solid) {
+        for (int y = fromY; y >= 0; y--) {
             VoxelType t = getBlock(x, y, z);
-            if (t != VoxelType.AIR) return y;
+            if (solid ? t.isSolid() : t != VoxelType.AIR) return y;
         }
         return -1;
     }
@@ -253,7 +315,20 @@ public class Chunk {
     }
 
     /**
-     * Schreibt sicher in das Block-Array.
+     * Berechnet den linearen Index einer lokalen Koordinate im Block-Array.
+     * X läuft am schnellsten, danach Z und zuletzt Y, sodass eine horizontale Schicht zusammenhängend ist.
+     *
+     * @param x Die X-Koordinate des Blocks.
+     * @param y Die Y-Koordinate des Blocks.
+     * @param z Die Z-Koordinate des Blocks.
+     * @return Der lineare Index.
+     */
+    public static int index(int x, int y, int z) {
+        return (y * DEPTH + z) * WIDTH + x;
+    }
+
+    /**
+     * Schreibt sicher in das Block-Array. Die Höhenkarte wird dabei nachgeführt.
      *
      * @param x Die X-Koordinate des Blocks.
      * @param y Die Y-Koordinate des Blocks.
@@ -262,7 +337,10 @@ public class Chunk {
      */
     public void setBlock(int x, int y, int z, VoxelType type) {
         if (inBounds(x, y, z)) {
-            blocks[x][y][z] = type;
+            int i = index(x, y, z);
+            sections[i / ChunkSection.VOLUME].set(i % ChunkSection.VOLUME, type);
+            updateHeights(x, z, y, y, type);
+            dirty = true;
         }
     }
 
@@ -275,33 +353,96 @@ public class Chunk {
      * @return Der Voxeltyp an der angegebenen Position.
      */
     public VoxelType getBlock(int x, int y, int z) {
-        return blocks[x][y][z];
+        int i = index(x, y, z);
+        return sections[i / ChunkSection.VOLUME].get(i % ChunkSection.VOLUME);
     }
 
     /**
-     * Bestimmt, ob ein Chunk basierend auf der Entfernung gerendert werden soll.
+     * Gibt die Voxel-ID an einem linearen Index zurück.
      *
-     * @param chunk Der zu überprüfende Chunk.
-     * @param player Der spieler auf dem die entscheidung basiert
-     * @return True, wenn der Chunk gerendert werden soll, sonst false.
+     * @param index Der lineare Index, siehe {@link #index(int, int, int)}.
+     * @return Die Voxel-ID an diesem Index.
      */
-    public boolean shouldRenderChunk(Chunk chunk, Player player) {
-        float dx = player.getCamera().position.x - (chunk.originX + Chunk.WIDTH / 2f);
-        float dz = player.getCamera().position.z - (chunk.originZ + Chunk.DEPTH / 2f);
-        float distanceSquared = dx * dx + dz * dz;
+    public byte getBlockId(int index) {
+        return sections[index / ChunkSection.VOLUME].get(index % ChunkSection.VOLUME).getId();
+    }
+
+    /**
+     * Kopiert alle Voxel-IDs des Chunks in ein Array, z.B. für den Mesher.
+     *
+     * @param dst Das Ziel-Array, mindestens {@link #VOLUME} groß.
+     */
+    public void copyBlockIds(byte[] dst) {
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            sections[i].copyIds(dst, i * ChunkSection.VOLUME);
+        }
+    }
+
+    /**
+     * Kopiert die Voxel-IDs der äussersten Schicht auf einer Seite des Chunks.
+     * Für {@link #WEST} und {@link #EAST} ist der Index {@code y * DEPTH + z}, sonst {@code y * WIDTH + x}.
+     *
+     * @param side Die Seite, z.B. {@link #EAST} für die Schicht bei x = WIDTH - 1.
+     * @param dst Das Ziel-Array.
+     */
+    public void copyBorderIds(int side, byte[] dst) {
+        boolean alongZ = side == WEST || side == EAST;
+        int fixed = side == EAST ? WIDTH - 1 : side == NORTH ? DEPTH - 1 : 0;
+        int length = alongZ ? DEPTH : WIDTH;
+        int n = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int k = 0; k < length; k++) {
+                dst[n++] = getBlockId(alongZ ? index(fixed, y, k) : index(k, y, fixed));
+            }
+        }
+    }
 
-        return distanceSquared <= CHUNK_RENDER_DISTANCE_SQUARED && isChunkVisible(chunk, player.getCamera().frustum);
+    /**
+     * Gibt den geladenen Nachbarn auf einer Seite zurück.
+     *
+     * @param side Die Seite, {@link #WEST}, {@link #EAST}, {@link #SOUTH} oder {@link #NORTH}.
+     * @return Der Nachbar oder {@code null}, wenn er nicht geladen ist.
+     */
+    public Chunk getNeighbor(int side) {
+        return neighbors[side];
+    }
+
+    void setNeighbor(int side, Chunk neighbor) {
+        neighbors[side] = neighbor;
+    }
+
+    /**
+     * Gibt zurück, welche Seiten eines Abschnitts durch Luft verbunden sind. Bis das erste Mesh fertig ist,
+     * gelten alle Seiten als verbunden.
+     *
+     * @param section Der Index des Abschnitts.
+     * @return Die Verbindungen, siehe {@link ChunkConnectivity}.
+     */
+    public int getConnectivity(int section) {
+        return connectivity[section];
+    }
+
+    void setConnectivity(int section, int connectivity) {
+        this.connectivity[section] = connectivity;
+    }
+
+    /**
+     * Gibt die gegenüberliegende Seite zurück, z.B. {@link #EAST} für {@link #WEST}.
+     *
+     * @param side Die Seite.
+     * @return Die Gegenseite.
+     */
+    public static int opposite(int side) {
+        return side ^ 1;
     }
 
     /**
-     * Überprüft, ob ein Chunk im Sichtfeld der Kamera liegt.
+     * Gibt einen Abschnitt des Chunks zurück.
      *
-     * @param chunk Der zu überprüfende Chunk.
-     * @param frustum Das Frustum in der den Chunk sein muss
-     * @return True, wenn der Chunk sichtbar ist, sonst false.
+     * @param index Der Index des Abschnitts, 0 ist der unterste.
+     * @return Der Abschnitt.
      */
-    public boolean isChunkVisible(Chunk chunk, Frustum frustum) {
-        BoundingBox chunkBox = chunk.getBoundingBox();
-        return frustum.boundsInFrustum(chunkBox);
+    public ChunkSection getSection(int index) {
+        return sections[index];
     }
 }
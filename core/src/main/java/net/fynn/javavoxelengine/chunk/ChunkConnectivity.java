@@ -0,0 +1,186 @@
+package net.fynn.javavoxelengine.chunk;
+
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.Arrays;
+
+/**
+ * Fasst zusammen, welche Seiten eines {@link ChunkSection Abschnitts} durch Luft miteinander verbunden sind.
+ * <p>
+ * Für jedes der 15 Paare aus den sechs Seiten gibt es ein Bit, das gesetzt ist, wenn man innerhalb des
+ * Abschnitts von der einen Seite zur anderen kommt, ohne einen Block zu durchqueren. Die Seiten 0 bis 3 sind
+ * {@link Chunk#WEST}, {@link Chunk#EAST}, {@link Chunk#SOUTH} und {@link Chunk#NORTH}, dazu kommen
+ * {@link #UP} und {@link #DOWN}. Berechnet wird das mit einer Flutfüllung über alle Luftvoxel, die
+ * an einer Seite liegen.
+ */
+public final class ChunkConnectivity {
+    /** Die Oberseite des Abschnitts. */
+    public static final int UP = 4;
+
+    /** Die Unterseite des Abschnitts. */
+    public static final int DOWN = 5;
+
+    /** Anzahl der Seiten. */
+    public static final int FACE_COUNT = 6;
+
+    /** Alle Seiten sind miteinander verbunden, z.B. solange ein Abschnitt noch nicht berechnet wurde. */
+    public static final int ALL = (1 << 15) - 1;
+
+    /** Die Bitnummer für jedes Seitenpaar, -1 auf der Diagonalen. */
+    private static final int[] PAIR_BIT = new int[FACE_COUNT * FACE_COUNT];
+
+    static {
+        Arrays.fill(PAIR_BIT, -1);
+        int bit = 0;
+        for (int a = 0; a < FACE_COUNT; a++) {
+            for (int b = a + 1; b < FACE_COUNT; b++) {
+                PAIR_BIT[a * FACE_COUNT + b] = bit;
+                PAIR_BIT[b * FACE_COUNT + a] = bit;
+                bit++;
+            }
+        }
+    }
+
+    /** Die Warteschlange und die besuchten Voxel der Flutfüllung, einmal pro Worker-Thread. */
+    private static final ThreadLocal<int[]> queue = ThreadLocal.withInitial(() -> new int[ChunkSection.VOLUME]);
+    private static final ThreadLocal<long[]> visited = ThreadLocal.withInitial(() -> new long[ChunkSection.VOLUME / 64]);
+
+    private ChunkConnectivity() {
+    }
+
+    /**
+     * Gibt an, ob zwei Seiten verbunden sind.
+     *
+     * @param connectivity Die Verbindungen eines Abschnitts.
+     * @param a Die eine Seite.
+     * @param b Die andere Seite.
+     * @return True, wenn man durch Luft von {@code a} nach {@code b} kommt; eine Seite ist immer mit sich selbst verbunden.
+     */
+    public static boolean connects(int connectivity, int a, int b) {
+        int bit = PAIR_BIT[a * FACE_COUNT + b];
+        return bit < 0 || (connectivity & 1 << bit) != 0;
+    }
+
+    /**
+     * Gibt an, ob eine der Seiten in {@code faces} mit der Seite {@code to} verbunden ist.
+     *
+     * @param connectivity Die Verbindungen eines Abschnitts.
+     * @param faces Die Seiten als Bitmaske, Bit n steht für Seite n.
+     * @param to Die gesuchte Seite.
+     * @return True, wenn es eine Verbindung gibt.
+     */
+    public static boolean connectsAny(int connectivity, int faces, int to) {
+        for (int face = 0; face < FACE_COUNT; face++) {
+            if ((faces & 1 << face) != 0 && connects(connectivity, face, to)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gibt an, ob irgendeine Seite mit der Seite {@code to} verbunden ist.
+     *
+     * @param connectivity Die Verbindungen eines Abschnitts.
+     * @param to Die gesuchte Seite.
+     * @return True, wenn es eine Verbindung gibt.
+     */
+    public static boolean connectsAny(int connectivity, int to) {
+        return connectsAny(connectivity, ((1 << FACE_COUNT) - 1) & ~(1 << to), to);
+    }
+
+    /**
+     * Berechnet die Verbindungen der Seiten eines Abschnitts.
+     *
+     * @param ids Die Voxel-IDs des ganzen Chunks, Index wie {@link Chunk#index(int, int, int)}.
+     * @param section Der Index des Abschnitts.
+     * @return Die Verbindungen als Bitmaske.
+     */
+    public static int compute(byte[] ids, int section) {
+        int[] queue = ChunkConnectivity.queue.get();
+        long[] visited = ChunkConnectivity.visited.get();
+        Arrays.fill(visited, 0L);
+        final byte air = VoxelType.AIR.getId();
+        final int offset = section * ChunkSection.VOLUME;
+
+        int connectivity = 0;
+        for (int y = 0; y < ChunkSection.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.DEPTH; z++) {
+                for (int x = 0; x < Chunk.WIDTH; x++) {
+                    // Nur an den Seiten anfangen, eine Lufthöhle im Inneren verbindet keine Seiten
+                    if (faces(x, y, z) == 0) {
+                        x = Chunk.WIDTH - 2;
+                        continue;
+                    }
+                    int start = (y * Chunk.DEPTH + z) * Chunk.WIDTH + x;
+                    if (ids[offset + start] != air || isVisited(visited, start)) continue;
+
+                    int touched = fill(ids, offset, start, queue, visited);
+                    for (int a = 0; a < FACE_COUNT; a++) {
+                        if ((touched & 1 << a) == 0) continue;
+                        for (int b = a + 1; b < FACE_COUNT; b++) {
+                            if ((touched & 1 << b) != 0) connectivity |= 1 << PAIR_BIT[a * FACE_COUNT + b];
+                        }
+                    }
+                    if (connectivity == ALL) return ALL;
+                }
+            }
+        }
+        return connectivity;
+    }
+
+    /**
+     * Füllt die zusammenhängende Luft ab einem Voxel und gibt die dabei berührten Seiten zurück.
+     * Die Indizes sind relativ zum Abschnitt, {@code offset} ist der Anfang des Abschnitts in {@code ids}.
+     */
+    private static int fill(byte[] ids, int offset, int start, int[] queue, long[] visited) {
+        final byte air = VoxelType.AIR.getId();
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        markVisited(visited, start);
+
+        int touched = 0;
+        while (head < tail) {
+            int index = queue[head++];
+            int x = index % Chunk.WIDTH;
+            int z = (index / Chunk.WIDTH) % Chunk.DEPTH;
+            int y = index / Chunk.LAYER_SIZE;
+            touched |= faces(x, y, z);
+
+            if (x > 0) tail = visit(ids, offset, air, index - 1, queue, tail, visited);
+            if (x < Chunk.WIDTH - 1) tail = visit(ids, offset, air, index + 1, queue, tail, visited);
+            if (z > 0) tail = visit(ids, offset, air, index - Chunk.WIDTH, queue, tail, visited);
+            if (z < Chunk.DEPTH - 1) tail = visit(ids, offset, air, index + Chunk.WIDTH, queue, tail, visited);
+            if (y > 0) tail = visit(ids, offset, air, index - Chunk.LAYER_SIZE, queue, tail, visited);
+            if (y < ChunkSection.HEIGHT - 1) tail = visit(ids, offset, air, index + Chunk.LAYER_SIZE, queue, tail, visited);
+        }
+        return touched;
+    }
+
+    private static int visit(byte[] ids, int offset, byte air, int index, int[] queue, int tail, long[] visited) {
+        if (ids[offset + index] != air || isVisited(visited, index)) return tail;
+        markVisited(visited, index);
+        queue[tail] = index;
+        return tail + 1;
+    }
+
+    /**
+     * Die Seiten, an denen ein Voxel liegt, als Bitmaske. {@code y} ist relativ zum Abschnitt.
+     */
+    private static int faces(int x, int y, int z) {
+        int faces = 0;
+        if (x == 0) faces |= 1 << Chunk.WEST;
+        if (x == Chunk.WIDTH - 1) faces |= 1 << Chunk.EAST;
+        if (z == 0) faces |= 1 << Chunk.SOUTH;
+        if (z == Chunk.DEPTH - 1) faces |= 1 << Chunk.NORTH;
+        if (y == ChunkSection.HEIGHT - 1) faces |= 1 << UP;
+        if (y == 0) faces |= 1 << DOWN;
+        return faces;
+    }
+
+    private static boolean isVisited(long[] visited, int index) {
+        return (visited[index >>> 6] & 1L << index) != 0;
+    }
+
+    private static void markVisited(long[] visited, int index) {
+        visited[index >>> 6] |= 1L << index;
+    }
+}
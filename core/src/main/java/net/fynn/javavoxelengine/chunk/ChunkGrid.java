@@ -1,59 +1,479 @@
 package net.fynn.javavoxelengine.chunk;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+import net.fynn.javavoxelengine.storage.WorldStorage;
 import net.fynn.javavoxelengine.voxel.VoxelType;
+import net.fynn.javavoxelengine.worldgen.WorldGenerator;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * Verwaltet ein Gitter von Chunks.
- * Erstellt und speichert Chunks basierend auf einem Seed-Wert.
+ * Verwaltet die geladenen Chunks einer unendlichen Welt, geordnet nach Chunk-Koordinaten.
+ * <p>
+ * Mit {@link #update(Vector3)} werden jeden Frame die Chunks im Lade-Radius um den Spieler
+ * im Hintergrund vom {@link WorldGenerator} generiert (die nächsten zuerst) und Chunks ausserhalb des grösseren
+ * Entlade-Radius wieder entfernt. Pro Frame werden nur begrenzt viele Chunks erstellt
+ * und entfernt, damit es keine Ruckler gibt. Jeder Chunk wird für sich vollständig generiert, auch mit den
+ * Bäumen seiner Nachbarn, die über den Rand reichen.
+ * <p>
+ * Ist ein {@link WorldStorage} gesetzt, werden gespeicherte Chunks geladen statt neu generiert
+ * und veränderte Chunks beim Entfernen gespeichert.
  */
 public class ChunkGrid {
-    private Array<Chunk> chunks;
-    private int gridWidth, gridDepth;
+    /** Wie viele Chunks pro Frame höchstens zur Generierung beauftragt werden. */
+    private static final int CREATE_BUDGET_PER_FRAME = 8;
+
+    /** Wie viele Chunks pro Frame höchstens übernommen bzw. entfernt werden. */
+    private static final int LOAD_BUDGET_PER_FRAME = 8;
+    private static final int UNLOAD_BUDGET_PER_FRAME = 8;
+
+    /** Die Chunk-Versätze zu den Nachbarn, Index der Seite wie {@link Chunk#WEST} usw. */
+    private static final int[] SIDE_X = {-1, 1, 0, 0};
+    private static final int[] SIDE_Z = {0, 0, -1, 1};
+
+    /** Wie oft ein Chunk höchstens beauftragt wird, wenn Laden und Generieren fehlschlagen. */
+    private static final int MAX_ATTEMPTS = 4;
+
+    /** Die Wartezeit vor dem ersten neuen Versuch, sie verdoppelt sich mit jedem weiteren. */
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Marker für beauftragte, aber noch nicht fertige Chunks. */
+    private static final Object PENDING = new Object();
+
+    /** Die Fehlversuche eines Chunks. */
+    private static final class Retry {
+        int attempts;
+        /** Der früheste Zeitpunkt für den nächsten Versuch, siehe {@link System#nanoTime()}. */
+        long nextAttempt;
+    }
+
+    private final Array<Chunk> chunks = new Array<>();
+
+    /** Die geladenen Chunks, Schlüssel siehe {@link #key(int, int)}. */
+    private final LongMap<Chunk> loaded = new LongMap<>();
+
+    /** Die geladenen Chunks räumlich geordnet, für das Culling. */
+    private final ChunkQuadtree quadtree = new ChunkQuadtree();
+
+    private final ChunkOcclusionCuller occlusionCuller = new ChunkOcclusionCuller();
+    private boolean occlusionCulling = true;
+
+    /** Chunks, die gerade generiert werden. */
+    private final LongMap<Object> pending = new LongMap<>();
+
+    /** Fertig generierte Chunks, die noch nicht übernommen wurden. */
+    private final Queue<Chunk> generated = new ConcurrentLinkedQueue<>();
+
+    /** Die Schlüssel der Chunks, deren Generierung fehlgeschlagen ist. Sie werden wieder freigegeben und neu beauftragt. */
+    private final Queue<Long> failed = new ConcurrentLinkedQueue<>();
 
     /**
-     * Erstellt ein neues Chunk-Gitter mit der angegebenen Breite und Tiefe.
+     * Die Fehlversuche der Chunks, die noch nicht geladen werden konnten. Der Eintrag verschwindet, wenn der Chunk
+     * geladen wird oder ausserhalb des Entlade-Radius liegt.
+     */
+    private final LongMap<Retry> retries = new LongMap<>();
+
+    /** Die beauftragten Generierungen, damit {@link #dispose()} auf sie warten kann. */
+    private final Phaser tasks = new Phaser(1);
+
+    /** Ob {@link #dispose()} aufgerufen wurde, danach fangen beauftragte Generierungen nicht mehr an. */
+    private volatile boolean disposed;
+
+    private final WorldGenerator generator;
+    private final Executor executor;
+    private final WorldStorage storage;
+    private int loadRadius, unloadRadius;
+
+    /** Die Chunk-Versätze innerhalb des Lade-Radius, nach Entfernung sortiert (x0, z0, x1, z1, ...). */
+    private int[] loadOffsets;
+
+    /** Wie viele Chunks im Lade-Radius beim letzten Update schon geladen waren. */
+    private int loadedInRadius;
+
+    /**
+     * Erstellt eine neue Welt. Die Generierung läuft auf dem gemeinsamen Fork-Join-Pool.
+     *
+     * @param seed         Der Seed-Wert für die zufällige Generierung.
+     * @param loadRadius   Der Radius in Chunks, in dem um den Spieler Chunks geladen werden.
+     * @param unloadRadius Der Radius in Chunks, ausserhalb dessen Chunks entfernt werden.
+     */
+    public ChunkGrid(int seed, int loadRadius, int unloadRadius) {
+        this(seed, loadRadius, unloadRadius, ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Erstellt eine Welt, die in einem {@link WorldStorage} gespeichert wird.
+     * Die Generierung läuft auf dem gemeinsamen Fork-Join-Pool.
+     *
+     * @param seed         Der Seed-Wert für die zufällige Generierung.
+     * @param loadRadius   Der Radius in Chunks, in dem um den Spieler Chunks geladen werden.
+     * @param unloadRadius Der Radius in Chunks, ausserhalb dessen Chunks entfernt werden.
+     * @param storage      Der Speicher der Welt.
+     */
+    public ChunkGrid(int seed, int loadRadius, int unloadRadius, WorldStorage storage) {
+        this(seed, loadRadius, unloadRadius, ForkJoinPool.commonPool(), storage);
+    }
+
+    /**
+     * Erstellt eine neue Welt.
      *
-     * @param gridWidth Die Breite des Gitters.
-     * @param gridDepth Die Tiefe des Gitters.
-     * @param seed      Der Seed-Wert für die zufällige Generierung.
+     * @param seed         Der Seed-Wert für die zufällige Generierung.
+     * @param loadRadius   Der Radius in Chunks, in dem um den Spieler Chunks geladen werden.
+     * @param unloadRadius Der Radius in Chunks, ausserhalb dessen Chunks entfernt werden.
+     * @param executor     Der Executor, auf dem die Chunks generiert werden.
+     * @param storage      Der Speicher der Welt oder {@code null}, wenn nichts gespeichert werden soll.
      */
-    public ChunkGrid(int gridWidth, int gridDepth, int seed) {
-        this.gridWidth = gridWidth;
-        this.gridDepth = gridDepth;
-        this.chunks = new Array<>();
+    public ChunkGrid(int seed, int loadRadius, int unloadRadius, Executor executor, WorldStorage storage) {
+        this(new WorldGenerator(seed), loadRadius, unloadRadius, executor, storage);
+    }
 
-        generateChunks(seed);
+    /**
+     * Erstellt eine Welt mit einem eigenen Generator, z.B. mit anderen Stufen.
+     *
+     * @param generator    Der Generator für neue Chunks.
+     * @param loadRadius   Der Radius in Chunks, in dem um den Spieler Chunks geladen werden.
+     * @param unloadRadius Der Radius in Chunks, ausserhalb dessen Chunks entfernt werden.
+     * @param executor     Der Executor, auf dem die Chunks generiert werden.
+     * @param storage      Der Speicher der Welt oder {@code null}, wenn nichts gespeichert werden soll.
+     */
+    public ChunkGrid(WorldGenerator generator, int loadRadius, int unloadRadius, Executor executor, WorldStorage storage) {
+        this.generator = generator;
+        this.executor = executor;
+        this.storage = storage;
+        setRadius(loadRadius, unloadRadius);
     }
 
     /**
-     * Erstellt die Chunks basierend auf dem Seed-Wert.
+     * Ändert den Lade- und Entlade-Radius, z.B. wenn die Sichtweite geändert wird. Die Chunks werden ab dem
+     * nächsten {@link #update(Vector3)} nachgeladen bzw. entfernt. Bleiben beide Radien gleich, passiert nichts.
      *
-     * @param seed Der Seed-Wert für die zufällige Generierung.
+     * @param loadRadius   Der Radius in Chunks, in dem um den Spieler Chunks geladen werden.
+     * @param unloadRadius Der Radius in Chunks, ausserhalb dessen Chunks entfernt werden.
      */
-    private void generateChunks(int seed) {
-        for (int x = 0; x < gridWidth; x++) {
-            for (int z = 0; z < gridDepth; z++) {
-                int originX = x * Chunk.WIDTH;
-                int originZ = z * Chunk.DEPTH;
+    public void setRadius(int loadRadius, int unloadRadius) {
+        if (unloadRadius <= loadRadius) {
+            throw new GdxRuntimeException("unloadRadius must be larger than loadRadius");
+        }
+        if (loadOffsets != null && loadRadius == this.loadRadius && unloadRadius == this.unloadRadius) return;
 
-                Chunk chunk = new Chunk(seed, originX, 0, originZ);
-                chunks.add(chunk);
+        if (loadOffsets == null || loadRadius != this.loadRadius) loadOffsets = createLoadOffsets(loadRadius);
+        this.loadRadius = loadRadius;
+        this.unloadRadius = unloadRadius;
+    }
+
+    /**
+     * Gibt den Generator der Welt zurück.
+     *
+     * @return Der Generator.
+     */
+    public WorldGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Gibt den Radius zurück, in dem um den Spieler Chunks geladen werden.
+     *
+     * @return Der Radius in Chunks.
+     */
+    public int getLoadRadius() {
+        return loadRadius;
+    }
+
+    /**
+     * Berechnet alle Chunk-Versätze innerhalb eines Kreises, sortiert nach Entfernung zur Mitte.
+     *
+     * @param radius Der Radius in Chunks.
+     * @return Die Versätze als (x, z)-Paare.
+     */
+    private static int[] createLoadOffsets(int radius) {
+        Array<int[]> offsets = new Array<>();
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (dx * dx + dz * dz <= radius * radius) offsets.add(new int[] {dx, dz});
             }
         }
+        offsets.sort((a, b) -> Integer.compare(a[0] * a[0] + a[1] * a[1], b[0] * b[0] + b[1] * b[1]));
+
+        int[] result = new int[offsets.size * 2];
+        for (int i = 0; i < offsets.size; i++) {
+            result[i * 2] = offsets.get(i)[0];
+            result[i * 2 + 1] = offsets.get(i)[1];
+        }
+        return result;
+    }
+
+    /**
+     * Packt Chunk-Koordinaten in einen Schlüssel.
+     *
+     * @param chunkX Die Chunk-X-Koordinate.
+     * @param chunkZ Die Chunk-Z-Koordinate.
+     * @return Der Schlüssel.
+     */
+    public static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xffffffffL);
     }
 
     /**
-     * Gibt den Chunk an einem x und z wert in dem Chunk Grid zurück
+     * Lädt und entfernt Chunks um eine Position. Muss einmal pro Frame auf dem Render-Thread aufgerufen werden.
      *
-     * @param gridX X wert im Grid
-     * @param gridZ Z wert im Grid
-     * @return Der Chunk an dieser Position
+     * @param center Die Position des Spielers.
      */
-    public Chunk getChunk(int gridX, int gridZ) {
-        if (gridX < 0 || gridX >= gridWidth || gridZ < 0 || gridZ >= gridDepth) return null;
-        return chunks.get(gridX * gridDepth + gridZ);
+    public void update(Vector3 center) {
+        int centerX = MathUtils.floor(center.x / Chunk.WIDTH);
+        int centerZ = MathUtils.floor(center.z / Chunk.DEPTH);
+
+        // 1) Fertig generierte Chunks übernehmen, sofern sie noch gebraucht werden, und fehlgeschlagene freigeben
+        for (int i = 0; i < LOAD_BUDGET_PER_FRAME; i++) {
+            Chunk chunk = generated.poll();
+            if (chunk == null) break;
+
+            int chunkX = chunk.originX / Chunk.WIDTH;
+            int chunkZ = chunk.originZ / Chunk.DEPTH;
+            pending.remove(key(chunkX, chunkZ));
+            retries.remove(key(chunkX, chunkZ));
+            if (outside(chunkX, chunkZ, centerX, centerZ, unloadRadius)) continue;
+
+            loaded.put(key(chunkX, chunkZ), chunk);
+            chunks.add(chunk);
+            quadtree.add(chunk);
+            linkNeighbors(chunk, chunkX, chunkZ);
+        }
+        long now = System.nanoTime();
+        Long failedKey;
+        while ((failedKey = failed.poll()) != null) {
+            long key = failedKey;
+            pending.remove(key);
+            Retry retry = retries.get(key);
+            if (retry == null) {
+                retry = new Retry();
+                retries.put(key, retry);
+            }
+            retry.attempts++;
+            retry.nextAttempt = now + (RETRY_DELAY_NANOS << (retry.attempts - 1));
+            if (retry.attempts == MAX_ATTEMPTS) {
+                Gdx.app.error("ChunkGrid", "Giving up on chunk at " + (int) (key >> 32) * Chunk.WIDTH + " "
+                    + (int) key * Chunk.DEPTH + " after " + MAX_ATTEMPTS + " attempts");
+            }
+        }
+
+        // 2) Fehlende Chunks im Lade-Radius beauftragen, die nächsten zuerst
+        int created = 0;
+        loadedInRadius = 0;
+        for (int i = 0; i < loadOffsets.length; i += 2) {
+            int chunkX = centerX + loadOffsets[i];
+            int chunkZ = centerZ + loadOffsets[i + 1];
+            long key = key(chunkX, chunkZ);
+
+            if (loaded.containsKey(key)) {
+                loadedInRadius++;
+                continue;
+            }
+            if (disposed || created >= CREATE_BUDGET_PER_FRAME || pending.containsKey(key)) continue;
+            Retry retry = retries.get(key);
+            if (retry != null && (retry.attempts >= MAX_ATTEMPTS || now < retry.nextAttempt)) continue;
+
+            pending.put(key, PENDING);
+            created++;
+            // Nach einem Fehlschlag wird nur noch generiert, falls es am gespeicherten Chunk lag
+            final int attempt = retry != null ? retry.attempts : 0;
+            final long loadKey = key;
+            final int loadX = chunkX;
+            final int loadZ = chunkZ;
+            final int originX = chunkX * Chunk.WIDTH;
+            final int originZ = chunkZ * Chunk.DEPTH;
+            tasks.register();
+            executor.execute(() -> {
+                try {
+                    if (disposed) return;
+                    Chunk chunk = storage != null && attempt == 0 ? storage.loadChunk(loadX, loadZ) : null;
+                    generated.add(chunk != null ? chunk : generator.generate(loadX, loadZ));
+                } catch (RuntimeException e) {
+                    // Den Stack-Trace nur beim ersten Mal, die weiteren Versuche scheitern meist gleich
+                    if (attempt == 0) {
+                        Gdx.app.error("ChunkGrid", "Failed to generate chunk at " + originX + " " + originZ, e);
+                    } else {
+                        Gdx.app.error("ChunkGrid", "Failed to generate chunk at " + originX + " " + originZ
+                            + " again: " + e);
+                    }
+                    // Erst der Render-Thread gibt den Chunk frei, danach wird er später neu beauftragt
+                    failed.add(loadKey);
+                } finally {
+                    tasks.arriveAndDeregister();
+                }
+            });
+        }
+
+        // 3) Chunks ausserhalb des Entlade-Radius entfernen
+        int unloaded = 0;
+        for (int i = chunks.size - 1; i >= 0 && unloaded < UNLOAD_BUDGET_PER_FRAME; i--) {
+            Chunk chunk = chunks.get(i);
+            int chunkX = chunk.originX / Chunk.WIDTH;
+            int chunkZ = chunk.originZ / Chunk.DEPTH;
+            if (!outside(chunkX, chunkZ, centerX, centerZ, unloadRadius)) continue;
+
+            chunks.removeIndex(i);
+            loaded.remove(key(chunkX, chunkZ));
+            quadtree.remove(chunk);
+            unlinkNeighbors(chunk);
+            ChunkMesher.disposeChunkMesh(chunk);
+            if (storage != null && chunk.isDirty()) storage.saveChunkAsync(chunk);
+            unloaded++;
+        }
+
+        // Fehlversuche vergessen, die nicht mehr gebraucht werden, kommt der Spieler zurück, gibt es neue Versuche
+        if (retries.size > 0) {
+            LongMap.Keys keys = retries.keys();
+            while (keys.hasNext) {
+                long key = keys.next();
+                if (outside((int) (key >> 32), (int) key, centerX, centerZ, unloadRadius)) keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Speichert alle geladenen Chunks, die seit dem letzten Speichern verändert wurden.
+     * Das Schreiben selbst läuft im Hintergrund.
+     */
+    public void saveAll() {
+        if (storage == null) return;
+        for (Chunk chunk : chunks) {
+            if (chunk.isDirty()) storage.saveChunkAsync(chunk);
+        }
+    }
+
+    /**
+     * Beauftragt keine Chunks mehr und wartet, bis alle laufenden Generierungen fertig sind; noch nicht
+     * angefangene werden übersprungen. Muss vor {@link WorldStorage#close()} aufgerufen werden, weil die
+     * Generierung gespeicherte Chunks daraus lädt.
+     */
+    public void dispose() {
+        disposed = true;
+        try {
+            tasks.awaitAdvanceInterruptibly(tasks.arrive(), 30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            Gdx.app.error("ChunkGrid", "Timed out while waiting for chunk generation");
+        }
+    }
+
+    /**
+     * Verbindet einen neu geladenen Chunk mit seinen Nachbarn. Deren Meshes werden neu gebaut,
+     * weil die Seiten an der gemeinsamen Grenze jetzt verdeckt sein können.
+     */
+    private void linkNeighbors(Chunk chunk, int chunkX, int chunkZ) {
+        for (int side = 0; side < 4; side++) {
+            Chunk neighbor = getChunk(chunkX + SIDE_X[side], chunkZ + SIDE_Z[side]);
+            if (neighbor == null) continue;
+
+            chunk.setNeighbor(side, neighbor);
+            neighbor.setNeighbor(Chunk.opposite(side), chunk);
+            ChunkMesher.invalidateChunkMesh(neighbor);
+        }
+    }
+
+    /**
+     * Löst einen entfernten Chunk von seinen Nachbarn. Deren Meshes bleiben, wie sie sind: Die Nachbarn
+     * liegen selbst am Rand des geladenen Bereichs und damit ausserhalb der Sichtweite.
+     */
+    private static void unlinkNeighbors(Chunk chunk) {
+        for (int side = 0; side < 4; side++) {
+            Chunk neighbor = chunk.getNeighbor(side);
+            if (neighbor == null) continue;
+
+            neighbor.setNeighbor(Chunk.opposite(side), null);
+            chunk.setNeighbor(side, null);
+        }
+    }
+
+    private static boolean outside(int chunkX, int chunkZ, int centerX, int centerZ, int radius) {
+        int dx = chunkX - centerX;
+        int dz = chunkZ - centerZ;
+        return dx * dx + dz * dz > radius * radius;
+    }
+
+    /**
+     * Sammelt die Chunks im Sichtfeld der Kamera, die nächsten zuerst. Der Aufwand hängt von der Anzahl
+     * der sichtbaren Chunks ab, nicht von der Anzahl der geladenen. Ist das Occlusion Culling an, fehlen
+     * Chunks, die vom Gelände vollständig verdeckt sind.
+     *
+     * @param camera Die Kamera, ihr Frustum muss aktuell sein.
+     * @param maxDistance Die Sichtweite in Blöcken, gemessen bis zur Mitte eines Chunks.
+     * @param out Das Ziel, wird vorher geleert.
+     */
+    public void collectVisibleChunks(Camera camera, float maxDistance, Array<Chunk> out) {
+        out.clear();
+        quadtree.collectVisible(camera.frustum, camera.position, maxDistance, out);
+        if (occlusionCulling) occlusionCuller.cull(camera.position, out);
+    }
+
+    /**
+     * Schaltet das Occlusion Culling über die Verbindungen der Chunks ein oder aus.
+     *
+     * @param enabled True, um verdeckte Chunks nicht zu zeichnen.
+     */
+    public void setOcclusionCulling(boolean enabled) {
+        occlusionCulling = enabled;
+    }
+
+    /**
+     * Gibt an, ob das Occlusion Culling eingeschaltet ist.
+     *
+     * @return True, wenn verdeckte Chunks nicht gezeichnet werden.
+     */
+    public boolean isOcclusionCulling() {
+        return occlusionCulling;
+    }
+
+    /**
+     * Gibt zurück, wie viele Chunks im letzten {@link #collectVisibleChunks(Camera, float, Array)}
+     * als verdeckt entfernt wurden.
+     *
+     * @return Die Anzahl der verdeckten Chunks.
+     */
+    public int getOccludedChunkCount() {
+        return occlusionCulling ? occlusionCuller.getCulledCount() : 0;
+    }
+
+    /**
+     * Gibt an, wie viele der Chunks im Lade-Radius schon geladen sind.
+     *
+     * @return Der Anteil zwischen 0 und 1.
+     */
+    public float getGenerationProgress() {
+        return loadedInRadius / (float) (loadOffsets.length / 2);
+    }
+
+    /**
+     * Gibt an, ob alle Chunks im Lade-Radius geladen sind.
+     *
+     * @return True, wenn die Umgebung des Spielers fertig geladen ist.
+     */
+    public boolean isGenerationComplete() {
+        return loadedInRadius == loadOffsets.length / 2;
+    }
+
+    /**
+     * Gibt den Chunk an einem x und z wert in Chunk-Koordinaten zurück
+     *
+     * @param chunkX X wert in Chunk-Koordinaten
+     * @param chunkZ Z wert in Chunk-Koordinaten
+     * @return Der Chunk an dieser Position oder {@code null}, wenn er nicht geladen ist
+     */
+    public Chunk getChunk(int chunkX, int chunkZ) {
+        return loaded.get(key(chunkX, chunkZ));
     }
 
     /**
@@ -82,7 +502,11 @@ public class ChunkGrid {
      * @return Lokalen Koordinaten
      */
     public Vector3 getChunkLocalCoords(Vector3 worldCoords) {
-        return new Vector3(worldCoords.x % Chunk.WIDTH, worldCoords.y % Chunk.HEIGHT, worldCoords.z % Chunk.DEPTH);
+        // floor statt %, damit auch negative Welt-Koordinaten richtig landen; Y wird nicht umgebrochen,
+        // weil ein Chunk die ganze Höhe der Welt abdeckt
+        float localX = worldCoords.x - MathUtils.floor(worldCoords.x / Chunk.WIDTH) * Chunk.WIDTH;
+        float localZ = worldCoords.z - MathUtils.floor(worldCoords.z / Chunk.DEPTH) * Chunk.DEPTH;
+        return new Vector3(localX, worldCoords.y, localZ);
     }
 
 
@@ -93,61 +517,98 @@ public class ChunkGrid {
      * @return Den BlockTyp
      */
     public VoxelType getBlockFromWorld(Vector3 worldCoords) {
-        Chunk cnk = getChunkAtWorld(worldCoords.x,worldCoords.z);
-
-        Vector3 localCoords = getChunkLocalCoords(worldCoords);
+        return getBlock(MathUtils.floor(worldCoords.x), MathUtils.floor(worldCoords.y), MathUtils.floor(worldCoords.z));
+    }
 
-        int localX = (int)Math.floor(localCoords.x);
-        int localY = (int)Math.floor(localCoords.y);
-        int localZ = (int)Math.floor(localCoords.z);
+    /**
+     * Gibt den Block an einer ganzzahligen Welt-Position zurück, ohne Objekte anzulegen.
+     *
+     * @param worldX Die X-Koordinate des Blocks in der Welt.
+     * @param worldY Die Y-Koordinate des Blocks in der Welt.
+     * @param worldZ Die Z-Koordinate des Blocks in der Welt.
+     * @return Der Voxeltyp, {@link VoxelType#AIR} ausserhalb der Welthöhe oder in einem nicht geladenen Chunk.
+     */
+    public VoxelType getBlock(int worldX, int worldY, int worldZ) {
+        if (worldY < 0 || worldY >= Chunk.HEIGHT) return VoxelType.AIR;
 
-        if (localX < 0 || localX >= Chunk.WIDTH
-            || localY < 0 || localY >= Chunk.HEIGHT
-            || localZ < 0 || localZ >= Chunk.DEPTH) {
-            return VoxelType.AIR;
-        }
+        Chunk cnk = getChunk(Math.floorDiv(worldX, Chunk.WIDTH), Math.floorDiv(worldZ, Chunk.DEPTH));
+        if (cnk == null) return VoxelType.AIR;
 
-        return cnk.getBlock(localX, localY, localZ);
+        return cnk.getBlock(Math.floorMod(worldX, Chunk.WIDTH), worldY, Math.floorMod(worldZ, Chunk.DEPTH));
     }
 
     /**
-     * Setzt einen Block in einen Chunk anhand von welt koordinaten
+     * Gibt das Y des höchsten Blocks einer Welt-Spalte zurück, der keine Luft ist, aus der Höhenkarte des Chunks.
      *
-     * @param worldCoords Die Welt Koordinaten
-     * @param type Mit welchen Typ der Block ersetzt werden soll
+     * @param worldX Die X-Koordinate der Spalte in der Welt.
+     * @param worldZ Die Z-Koordinate der Spalte in der Welt.
+     * @return Die Höhe, -1 wenn die Spalte leer oder ihr Chunk nicht geladen ist.
      */
-    public void setBlockFromWorld(Vector3 worldCoords, VoxelType type) {
-        Chunk cnk = getChunkAtWorld(worldCoords.x,worldCoords.z);
-
-        Vector3 localCoords = getChunkLocalCoords(worldCoords);
-
-        int localX = (int)Math.floor(localCoords.x);
-        int localY = (int)Math.floor(localCoords.y);
-        int localZ = (int)Math.floor(localCoords.z);
+    public int getSurfaceHeight(int worldX, int worldZ) {
+        Chunk cnk = getChunk(Math.floorDiv(worldX, Chunk.WIDTH), Math.floorDiv(worldZ, Chunk.DEPTH));
+        if (cnk == null) return -1;
+        return cnk.getSurfaceHeight(Math.floorMod(worldX, Chunk.WIDTH), Math.floorMod(worldZ, Chunk.DEPTH));
+    }
 
-        cnk.setBlock(localX, localY, localZ, type);
+    /**
+     * Gibt das Y des höchsten festen Blocks einer Welt-Spalte zurück, also den Boden, auf dem man steht.
+     *
+     * @param worldX Die X-Koordinate der Spalte in der Welt.
+     * @param worldZ Die Z-Koordinate der Spalte in der Welt.
+     * @return Die Höhe, -1 wenn die Spalte keinen festen Block hat oder ihr Chunk nicht geladen ist.
+     */
+    public int getSolidHeight(int worldX, int worldZ) {
+        Chunk cnk = getChunk(Math.floorDiv(worldX, Chunk.WIDTH), Math.floorDiv(worldZ, Chunk.DEPTH));
+        if (cnk == null) return -1;
+        return cnk.getSolidHeight(Math.floorMod(worldX, Chunk.WIDTH), Math.floorMod(worldZ, Chunk.DEPTH));
     }
 
     /**
-     * Just returns the grid width
+     * Setzt einen Block in einen Chunk anhand von welt koordinaten. Neu gebaut wird nur der Abschnitt des
+     * Meshes mit dem Block, bei einem Block am Rand auch der angrenzende Abschnitt bzw. der des Nachbar-Chunks.
      *
-     * @return Grid Width
+     * @param worldCoords Die Welt Koordinaten
+     * @param type Mit welchen Typ der Block ersetzt werden soll
      */
-    public int getGridWidth() {
-        return gridWidth;
+    public void setBlockFromWorld(Vector3 worldCoords, VoxelType type) {
+        setBlock(MathUtils.floor(worldCoords.x), MathUtils.floor(worldCoords.y), MathUtils.floor(worldCoords.z), type);
     }
 
     /**
-     * Just returns the grid Depth
+     * Setzt den Block an einer ganzzahligen Welt-Position, wie {@link #setBlockFromWorld(Vector3, VoxelType)}.
+     * Ausserhalb der Welthöhe oder in einem nicht geladenen Chunk passiert nichts.
      *
-     * @return Grid Depth
+     * @param worldX Die X-Koordinate des Blocks in der Welt.
+     * @param worldY Die Y-Koordinate des Blocks in der Welt.
+     * @param worldZ Die Z-Koordinate des Blocks in der Welt.
+     * @param type Mit welchem Typ der Block ersetzt werden soll.
      */
-    public int getGridDepth() {
-        return gridDepth;
+    public void setBlock(int worldX, int worldY, int worldZ, VoxelType type) {
+        if (worldY < 0 || worldY >= Chunk.HEIGHT) return;
+
+        Chunk cnk = getChunk(Math.floorDiv(worldX, Chunk.WIDTH), Math.floorDiv(worldZ, Chunk.DEPTH));
+        if (cnk == null) return;
+
+        int localX = Math.floorMod(worldX, Chunk.WIDTH);
+        int localZ = Math.floorMod(worldZ, Chunk.DEPTH);
+
+        cnk.setBlock(localX, worldY, localZ, type);
+        ChunkMesher.invalidateBlock(cnk, localX, worldY, localZ);
+
+        int section = worldY / ChunkSection.HEIGHT;
+        if (localX == 0) invalidateNeighbor(cnk, Chunk.WEST, section);
+        if (localX == Chunk.WIDTH - 1) invalidateNeighbor(cnk, Chunk.EAST, section);
+        if (localZ == 0) invalidateNeighbor(cnk, Chunk.SOUTH, section);
+        if (localZ == Chunk.DEPTH - 1) invalidateNeighbor(cnk, Chunk.NORTH, section);
+    }
+
+    private static void invalidateNeighbor(Chunk chunk, int side, int section) {
+        Chunk neighbor = chunk.getNeighbor(side);
+        if (neighbor != null) ChunkMesher.invalidateSection(neighbor, section);
     }
 
     /**
-     * Gibt die Liste der Chunks zurück.
+     * Gibt die Liste der geladenen Chunks zurück.
      *
      * @return Die Liste der Chunks.
      */
@@ -0,0 +1,167 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+import java.util.Arrays;
+
+/**
+ * Die CPU-seitige Geometrie eines {@link ChunkSection Abschnitts} eines Chunk-Meshes: die Vertices der Quads
+ * für jeden Mesh-Part. Die Positionen sind trotzdem lokal zum ganzen Chunk.
+ * Indizes werden nicht gespeichert, alle Chunks benutzen den gemeinsamen Quad-Index-Puffer des {@link ChunkRenderer}.
+ * Wird von den Mesh-Workern ohne OpenGL-Kontext gefüllt und später auf dem Render-Thread hochgeladen.
+ * Die Arrays wachsen nur und werden nach {@link #clear()} wiederverwendet, daher kann ein Objekt für
+ * viele Neubauten benutzt werden.
+ */
+public class ChunkMeshData {
+    /**
+     * Das gepackte Vertex-Format, 8 Bytes pro Vertex: Die lokale Position im Chunk und der Index der Seite
+     * als vier Bytes (x, y, z, Seite), dazu die Farbe als RGBA8. Die Normale wird im Vertex-Shader aus dem
+     * Index der Seite bestimmt, der Ursprung des Chunks kommt als Uniform dazu.
+     */
+    public static final VertexAttributes ATTRIBUTES = new VertexAttributes(
+        new VertexAttribute(VertexAttributes.Usage.Position, 4, GL20.GL_UNSIGNED_BYTE, false,
+            ShaderProgram.POSITION_ATTRIBUTE),
+        VertexAttribute.ColorPacked()
+    );
+
+    /** Anzahl der Floats pro Vertex. */
+    public static final int VERTEX_SIZE = ATTRIBUTES.vertexSize / 4;
+
+    /** Die Ursprungskoordinaten des Chunks, zu dem die lokalen Positionen gehören. */
+    public int originX, originY, originZ;
+
+    /** Welche Seiten des Abschnitts durch Luft verbunden sind, siehe {@link ChunkConnectivity}. */
+    public int connectivity;
+
+    /**
+     * Ein Part mit eigenen Vertices für die Seiten einer Achse. Beim Upload werden die Parts hintereinander
+     * in denselben Bereich geschrieben.
+     * Die Methoden orientieren sich an {@link com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder}.
+     */
+    public static class Part {
+        /** Der Name des Parts, z.B. für Debug-Ausgaben. */
+        public final String id;
+
+        float[] vertices = new float[VERTEX_SIZE * 4 * 256];
+        int vertexCount;
+
+        /** Die aktuelle Farbe, gepackt wie bei {@link Color#toFloatBits()}. */
+        private float color = Color.WHITE_FLOAT_BITS;
+
+        Part(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Setzt die Farbe für alle folgenden Vertices.
+         */
+        public void setColor(float r, float g, float b, float a) {
+            this.color = Color.toFloatBits(r, g, b, a);
+        }
+
+        /**
+         * Fügt ein Rechteck aus vier Ecken auf derselben Seite hinzu. Der gemeinsame Index-Puffer
+         * macht daraus zwei Dreiecke, 00-10-11 und 11-01-00.
+         * Die Ecken sind lokale Koordinaten im Chunk zwischen 0 und 255.
+         *
+         * @param face Der Index der Seite, bestimmt im Shader die Normale.
+         */
+        public void rect(int x00, int y00, int z00, int x10, int y10, int z10,
+                         int x11, int y11, int z11, int x01, int y01, int z01, int face) {
+            ensureCapacity(4);
+
+            vertex(x00, y00, z00, face);
+            vertex(x10, y10, z10, face);
+            vertex(x11, y11, z11, face);
+            vertex(x01, y01, z01, face);
+        }
+
+        /**
+         * Verwirft alle Vertices, das Array bleibt erhalten.
+         */
+        public void clear() {
+            vertexCount = 0;
+            color = Color.WHITE_FLOAT_BITS;
+        }
+
+        /**
+         * Gibt die Anzahl der geschriebenen Vertices zurück.
+         *
+         * @return Die Anzahl der Vertices.
+         */
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        /**
+         * Gibt das Vertex-Array zurück, gültig sind die ersten {@code getVertexCount() * VERTEX_SIZE} Werte.
+         *
+         * @return Die Vertices.
+         */
+        public float[] getVertices() {
+            return vertices;
+        }
+
+        private void vertex(int x, int y, int z, int face) {
+            int o = vertexCount * VERTEX_SIZE;
+            // Die vier Bytes liegen in nativer (little-endian) Reihenfolge im Puffer, wie bei ColorPacked.
+            // Das oberste Byte ist höchstens 5, der Wert ist also nie ein NaN, das verändert werden könnte.
+            vertices[o]     = Float.intBitsToFloat(x | y << 8 | z << 16 | face << 24);
+            vertices[o + 1] = color;
+            vertexCount++;
+        }
+
+        private void ensureCapacity(int moreVertices) {
+            int neededFloats = (vertexCount + moreVertices) * VERTEX_SIZE;
+            if (neededFloats > vertices.length) {
+                vertices = Arrays.copyOf(vertices, Math.max(neededFloats, vertices.length * 2));
+            }
+        }
+    }
+
+    /** Ober- und Unterseiten. */
+    public final Part topBottom = new Part("top_bottom");
+
+    /** Ost- und Westseiten. */
+    public final Part eastWest = new Part("east_west");
+
+    /** Nord- und Südseiten. */
+    public final Part northSouth = new Part("north_south");
+
+    private final Part[] parts = {topBottom, eastWest, northSouth};
+
+    /**
+     * Leert alle Parts, damit das Objekt für einen neuen Abschnitt benutzt werden kann.
+     */
+    public void clear() {
+        for (Part part : parts) {
+            part.clear();
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Quads in allen Parts zusammen zurück.
+     *
+     * @return Die Anzahl der Quads.
+     */
+    public int getQuadCount() {
+        int vertices = 0;
+        for (Part part : parts) {
+            vertices += part.vertexCount;
+        }
+        return vertices / 4;
+    }
+
+    /**
+     * Gibt alle Parts in fester Reihenfolge zurück.
+     *
+     * @return Die Parts.
+     */
+    public Part[] getParts() {
+        return parts;
+    }
+}
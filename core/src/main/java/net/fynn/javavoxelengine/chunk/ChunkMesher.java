@@ -1,180 +1,913 @@
 package net.fynn.javavoxelengine.chunk;
 
-import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.VertexAttributes;
-import com.badlogic.gdx.graphics.g3d.Material;
-import com.badlogic.gdx.graphics.g3d.Model;
-import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
-import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder;
-import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.LongMap;
 import net.fynn.javavoxelengine.voxel.VoxelType;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Builds and caches a single merged Model per chunk, combining all visible faces into one mesh.
+ * Builds and caches the merged geometry of every chunk, with one vertex range per {@link ChunkSection}.
+ * The geometry is built on background worker threads; only the upload into the shared
+ * {@link ChunkVertexPool} happens on the render thread. Drawing is done by the {@link ChunkRenderer}.
+ * <p>
+ * Sections are rebuilt independently: a single block edit only re-meshes the section it is in, plus the
+ * adjacent section when the block lies on a section or chunk boundary, see {@link #invalidateBlock}.
+ * <p>
+ * Distant chunks are meshed at a lower level of detail: the snapshot is downsampled into cells of
+ * 2, 4 or 8 blocks per axis and greedy-meshed like a normal chunk. Which level a chunk gets depends
+ * on its distance to the camera, see {@link #setLodDistance(float)}.
  */
 public class ChunkMesher {
 
-    private static final Map<String, Model> cache = new HashMap<>();
-
-    private enum Face { TOP, BOTTOM, NORTH, SOUTH, EAST, WEST }
-
-    public static Model getChunkModel(Chunk chunk) {
-        String key = chunk.originX + "_" + chunk.originY + "_" + chunk.originZ;
-        return cache.computeIfAbsent(key, k -> buildChunkModel(chunk));
-    }
-
-    public static void invalidateChunkModel(Chunk chunk) {
-        String key = chunk.originX + "_" + chunk.originY + "_" + chunk.originZ;
-        cache.remove(key);
-    }
-
-    private static Model buildChunkModel(Chunk chunk) {
-        ModelBuilder builder = new ModelBuilder();
-        builder.begin();
-
-        MeshPartBuilder mpbTB = builder.part(
-            "top_bottom",
-            GL20.GL_TRIANGLES,
-            VertexAttributes.Usage.Position |
-                VertexAttributes.Usage.Normal   |
-                VertexAttributes.Usage.ColorUnpacked,
-            new Material(ColorAttribute.createDiffuse(Color.WHITE))
-        );
-        MeshPartBuilder mpbEW = builder.part(
-            "east_west",
-            GL20.GL_TRIANGLES,
-            VertexAttributes.Usage.Position |
-                VertexAttributes.Usage.Normal   |
-                VertexAttributes.Usage.ColorUnpacked,
-            new Material(ColorAttribute.createDiffuse(Color.WHITE))
-        );
-        MeshPartBuilder mpbNS = builder.part(
-            "north_south",
-            GL20.GL_TRIANGLES,
-            VertexAttributes.Usage.Position |
-                VertexAttributes.Usage.Normal   |
-                VertexAttributes.Usage.ColorUnpacked,
-            new Material(ColorAttribute.createDiffuse(Color.WHITE))
-        );
-
-        for (int x = 0; x < Chunk.WIDTH; x++) {
-            for (int y = 0; y < Chunk.HEIGHT; y++) {
-                for (int z = 0; z < Chunk.DEPTH; z++) {
-                    VoxelType type = chunk.getBlock(x, y, z);
-                    if (!type.isVisible()) continue;
-
-
-                    // Leichte zufällige Farbanpassung damit jeder Block unterschiedlich aussieht
-                    float tint = 0.9f + (float)Math.random() * 0.2f;
-                    float r = type.color.r * tint;
-                    float g = type.color.g * tint;
-                    float b = type.color.b * tint;
-
-                    float bx = chunk.originX + x;
-                    float by = chunk.originY + y;
-                    float bz = chunk.originZ + z;
-
-                    /**
-                     *  Für jeden Block wird geprüft, ob ein Nachbarblock Luft ist und wenn nicht,
-                     *  werden die Quads (Rechtecke) für die jeweilige seite generiert.
-                     *
-                     *  Weil, sonst würden unnötig viele quads angezeigt, die nicht sichtbar sind --> Lag
-                     */
-
-                    // TOP / BOTTOM
-                    if (!chunk.inBounds(x, y+1, z) || chunk.getBlock(x, y+1, z) == VoxelType.AIR) {
-                        mpbTB.setColor(r, g, b, 1f);
-                        addQuad(mpbTB, bx, by, bz, Face.TOP);
-                    }
-                    if (!chunk.inBounds(x, y-1, z) || chunk.getBlock(x, y-1, z) == VoxelType.AIR) {
-                        mpbTB.setColor(r, g, b, 1f);
-                        addQuad(mpbTB, bx, by, bz, Face.BOTTOM);
-                    }
+    /**
+     * Die verfügbaren Meshing-Verfahren.
+     */
+    public enum Mode {
+        /** Ein Quad pro sichtbarer Voxelseite. */
+        PER_FACE,
+        /** Benachbarte, gleichartige Seiten in einer Ebene werden zu grösseren Quads zusammengefasst. */
+        GREEDY
+    }
 
-                    // EAST / WEST
-                    if (!chunk.inBounds(x+1, y, z) || chunk.getBlock(x+1, y, z) == VoxelType.AIR) {
-                        mpbEW.setColor(r, g, b, 1f);
-                        addQuad(mpbEW, bx, by, bz, Face.EAST);
-                    }
-                    if (!chunk.inBounds(x-1, y, z) || chunk.getBlock(x-1, y, z) == VoxelType.AIR) {
-                        mpbEW.setColor(r, g, b, 1f);
-                        addQuad(mpbEW, bx, by, bz, Face.WEST);
+    /** Anzahl der Farbstufen für die leichte Farbvariation der Blöcke (Zweierpotenz). */
+    private static final int TINT_BUCKETS = 4;
+
+    /** Blöcke innerhalb einer Zelle von 2^TINT_CELL_SHIFT Blöcken teilen sich eine Farbstufe. */
+    private static final int TINT_CELL_SHIFT = 2;
+
+    /** Wie viele fertige Meshes pro Frame höchstens auf die GPU geladen werden. */
+    private static final int UPLOAD_BUDGET_PER_FRAME = 4;
+
+    /** Wie viele Geometrie-Puffer höchstens für spätere Neubauten aufbewahrt werden. */
+    private static final int MESH_DATA_POOL_SIZE = 16;
+
+    /** Das Standard-Budget für die Vertices aller Chunk-Meshes auf der GPU in Bytes. */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /** Die gröbste Detailstufe, eine Zelle umfasst dort 2^MAX_LOD_LEVEL Blöcke pro Achse. */
+    public static final int MAX_LOD_LEVEL = 3;
+
+    /** Die Standard-Entfernung, ab der Chunks mit der ersten gröberen Detailstufe gebaut werden. */
+    public static final float DEFAULT_LOD_DISTANCE = 96f;
+
+    /** Um so viele Blöcke darf ein Chunk über die Grenze seiner Detailstufe hinaus, bevor er neu gebaut wird. */
+    private static final float LOD_HYSTERESIS = 8f;
+
+    /** Alle Abschnitte eines Chunks als Bitmaske. */
+    private static final int ALL_SECTIONS = (1 << Chunk.SECTION_COUNT) - 1;
+
+    /** Der Zustand des Meshes eines Chunks. */
+    private static final class Entry {
+        final long key;
+        /**
+         * Die aktuell angezeigten Vertices pro Abschnitt, bleiben bis zum Austausch durch neue sichtbar.
+         * {@code null} für Abschnitte ohne sichtbare Seiten.
+         */
+        final ChunkVertexPool.Slot[] slots = new ChunkVertexPool.Slot[Chunk.SECTION_COUNT];
+        /** Die Grösse aller {@link #slots} zusammen in Bytes. */
+        long bytes;
+        /** Die Detailstufe des zuletzt hochgeladenen Meshes, -1 solange es keins gibt. */
+        int level = -1;
+        /** Die Abschnitte, die (neu) gebaut werden müssen, als Bitmaske. */
+        int dirtySections = ALL_SECTIONS;
+        /** Ein Worker baut gerade an diesem Mesh. */
+        boolean building;
+        /** Der letzte Frame, in dem das Mesh gezeichnet werden sollte. */
+        long lastUsedFrame;
+        /** Die Nachbarn in der LRU-Liste, nur gesetzt solange Vertices belegt sind. */
+        Entry newer, older;
+
+        Entry(long key) {
+            this.key = key;
+        }
+    }
+
+    /** Fertig gebaute Abschnitte eines Chunks, die auf den Upload warten. */
+    private static final class BuildResult {
+        final Entry entry;
+        final Chunk chunk;
+        final int level;
+        /** Die Abschnitte, die gebaut werden sollten, als Bitmaske. */
+        final int dirtySections;
+        /** Die Geometrie pro Abschnitt, {@code null} für nicht neu gebaute; das Array ist {@code null} bei einem Fehler. */
+        final ChunkMeshData[] sections;
+
+        BuildResult(Entry entry, Chunk chunk, int level, int dirtySections, ChunkMeshData[] sections) {
+            this.entry = entry;
+            this.chunk = chunk;
+            this.level = level;
+            this.dirtySections = dirtySections;
+            this.sections = sections;
+        }
+    }
+
+    /** Die Meshes der Chunks, Schlüssel siehe {@link #key(Chunk)}. */
+    private static final LongMap<Entry> cache = new LongMap<>();
+
+    /** Die Vertex-Puffer, in denen die fertigen Meshes aller Chunks liegen. */
+    private static final ChunkVertexPool vertexPool = new ChunkVertexPool();
+
+    /**
+     * Die Einträge mit Vertices auf der GPU, vom zuletzt gezeichneten ({@code newest}) bis zum am längsten
+     * nicht mehr gezeichneten ({@code oldest}). Über das Budget hinaus wird am alten Ende verdrängt.
+     */
+    private static Entry newest, oldest;
+
+    private static long memoryBudget = DEFAULT_MEMORY_BUDGET;
+    private static float lodDistance = DEFAULT_LOD_DISTANCE;
+    private static long residentBytes;
+    private static long frame;
+
+    private static long hits, misses, evictions;
+
+    /** Fertige Meshes der Worker, werden vom Render-Thread in {@link #update()} hochgeladen. */
+    private static final Queue<BuildResult> finished = new ConcurrentLinkedQueue<>();
+
+    /** Freie Snapshots, damit nicht für jeden Neubau ein neues Voxel-Array angelegt wird. */
+    private static final Queue<ChunkSnapshot> snapshotPool = new ConcurrentLinkedQueue<>();
+
+    /** Freie Geometrie-Puffer, damit die Vertex- und Index-Arrays nicht bei jedem Neubau neu wachsen müssen. */
+    private static final Queue<ChunkMeshData> meshDataPool = new ConcurrentLinkedQueue<>();
+
+    /** Die Maske einer Ebene für das Greedy-Meshing, eine pro Worker-Thread. */
+    private static final ThreadLocal<int[]> greedyMask = ThreadLocal.withInitial(
+        () -> new int[Math.max(Chunk.WIDTH, Chunk.DEPTH) * Math.max(Chunk.HEIGHT, Chunk.DEPTH)]);
+
+    /** Der verkleinerte Snapshot für gröbere Detailstufen, einer pro Worker-Thread. */
+    private static final ThreadLocal<ChunkSnapshot> lodSnapshot = ThreadLocal.withInitial(ChunkSnapshot::new);
+
+    private static ExecutorService workers;
+
+    private static Mode mode = Mode.GREEDY;
+
+    /** Die Seiten, die Reihenfolge entspricht dem Seiten-Index im Vertex-Shader. */
+    private enum Face {
+        TOP(1, 1), BOTTOM(1, -1), NORTH(2, 1), SOUTH(2, -1), EAST(0, 1), WEST(0, -1);
+
+        /** Die Achse der Flächennormalen (0 = X, 1 = Y, 2 = Z). */
+        final int axis;
+        /** Die Richtung entlang der Achse, +1 oder -1. */
+        final int dir;
+
+        Face(int axis, int dir) {
+            this.axis = axis;
+            this.dir = dir;
+        }
+    }
+
+    private static final Face[] FACES = Face.values();
+
+    /**
+     * Wählt das Meshing-Verfahren. Bereits gebaute Chunk-Meshes werden verworfen und neu gebaut.
+     *
+     * @param newMode Das neue Verfahren.
+     */
+    public static void setMode(Mode newMode) {
+        if (mode == newMode) return;
+        mode = newMode;
+        clear();
+    }
+
+    /**
+     * Gibt das aktuell benutzte Meshing-Verfahren zurück.
+     *
+     * @return Das Verfahren.
+     */
+    public static Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Setzt die Entfernung, ab der Chunks gröber gebaut werden. Jede weitere Stufe beginnt bei der doppelten
+     * Entfernung der vorherigen, bis {@link #MAX_LOD_LEVEL}. Mit 0 werden alle Chunks in voller Auflösung gebaut.
+     * Bestehende Meshes werden erst beim nächsten Zeichnen auf die passende Stufe umgebaut.
+     *
+     * @param distance Die Entfernung in Blöcken.
+     */
+    public static void setLodDistance(float distance) {
+        lodDistance = distance;
+    }
+
+    /**
+     * Gibt die Entfernung zurück, ab der Chunks gröber gebaut werden.
+     *
+     * @return Die Entfernung in Blöcken.
+     */
+    public static float getLodDistance() {
+        return lodDistance;
+    }
+
+    /**
+     * Gibt die Bereiche im {@link ChunkVertexPool} zurück, in denen das aktuelle Mesh eines Chunks liegt,
+     * einen pro Abschnitt, und beauftragt bei Bedarf einen Neubau im Hintergrund. Solange ein Abschnitt
+     * noch nicht fertig ist oder keine sichtbaren Seiten hat, ist sein Bereich {@code null}; nach einer
+     * Änderung bleibt das alte Mesh sichtbar, bis das neue hochgeladen ist. Das gilt auch, wenn der Chunk
+     * wegen seiner Entfernung eine andere Detailstufe braucht, dann werden alle Abschnitte neu gebaut.
+     *
+     * @param chunk Der Chunk.
+     * @param distance Die Entfernung der Kamera zur Mitte des Chunks.
+     * @return Die Bereiche, Index ist der Abschnitt; das Array darf nicht verändert werden.
+     */
+    static ChunkVertexPool.Slot[] getChunkSlots(Chunk chunk, float distance) {
+        long key = key(chunk);
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            // Neu geladen oder verdrängt, das Mesh muss (wieder) gebaut werden
+            misses++;
+            entry = new Entry(key);
+            cache.put(key, entry);
+        } else if (entry.level >= 0 && entry.lastUsedFrame < frame - 1) {
+            // Wieder im Bild, das fertige Mesh war die ganze Zeit noch da
+            hits++;
+        }
+        entry.lastUsedFrame = frame;
+        if (entry.bytes > 0) touch(entry);
+        if (!entry.building) {
+            int level = lodLevel(distance, entry.level);
+            if (entry.level != level) entry.dirtySections = ALL_SECTIONS;
+            if (entry.dirtySections != 0) schedule(entry, chunk, level);
+        }
+        return entry.slots;
+    }
+
+    /**
+     * Bestimmt die Detailstufe für eine Entfernung. Die aktuelle Stufe wird noch bis {@link #LOD_HYSTERESIS}
+     * über ihre Grenzen hinaus behalten, damit ein Chunk an einer Grenze nicht ständig neu gebaut wird.
+     */
+    private static int lodLevel(float distance, int current) {
+        if (lodDistance <= 0) return 0;
+        int level = 0;
+        while (level < MAX_LOD_LEVEL && distance >= lodStart(level + 1)) level++;
+
+        if (current >= 0 && current != level
+            && distance >= lodStart(current) - LOD_HYSTERESIS
+            && (current == MAX_LOD_LEVEL || distance < lodStart(current + 1) + LOD_HYSTERESIS)) {
+            return current;
+        }
+        return level;
+    }
+
+    /**
+     * Die Entfernung, ab der eine Detailstufe benutzt wird.
+     */
+    private static float lodStart(int level) {
+        return level == 0 ? 0f : lodDistance * (1 << (level - 1));
+    }
+
+    /**
+     * Der Schlüssel eines Chunks im Cache. Ein Chunk deckt die ganze Höhe ab, daher reichen X und Z.
+     */
+    private static long key(Chunk chunk) {
+        return ChunkGrid.key(Math.floorDiv(chunk.originX, Chunk.WIDTH), Math.floorDiv(chunk.originZ, Chunk.DEPTH));
+    }
+
+    /**
+     * Markiert das ganze Mesh eines Chunks als veraltet. Es wird beim nächsten Zugriff im Hintergrund neu gebaut.
+     *
+     * @param chunk Der geänderte Chunk.
+     */
+    public static void invalidateChunkMesh(Chunk chunk) {
+        Entry entry = cache.get(key(chunk));
+        if (entry != null) {
+            entry.dirtySections = ALL_SECTIONS;
+        }
+    }
+
+    /**
+     * Markiert einen Abschnitt eines Chunks als veraltet, z.B. weil ein Block im Nachbar-Chunk direkt an
+     * diesem Abschnitt geändert wurde. Nur dieser Abschnitt wird neu gebaut.
+     *
+     * @param chunk Der Chunk.
+     * @param section Der Index des Abschnitts.
+     */
+    public static void invalidateSection(Chunk chunk, int section) {
+        Entry entry = cache.get(key(chunk));
+        if (entry != null) {
+            entry.dirtySections |= 1 << section;
+        }
+    }
+
+    /**
+     * Markiert die Abschnitte eines Chunks als veraltet, deren Seiten sich durch die Änderung eines Blocks
+     * ändern können: den Abschnitt des Blocks und, wenn der Block an dessen Ober- oder Unterkante liegt,
+     * auch den Abschnitt darüber bzw. darunter. Nachbar-Chunks werden nicht markiert.
+     *
+     * @param chunk Der Chunk.
+     * @param x Die lokale X-Koordinate des geänderten Blocks.
+     * @param y Die lokale Y-Koordinate des geänderten Blocks.
+     * @param z Die lokale Z-Koordinate des geänderten Blocks.
+     */
+    public static void invalidateBlock(Chunk chunk, int x, int y, int z) {
+        int section = y / ChunkSection.HEIGHT;
+        int inSection = y % ChunkSection.HEIGHT;
+        invalidateSection(chunk, section);
+        if (inSection == 0 && section > 0) invalidateSection(chunk, section - 1);
+        if (inSection == ChunkSection.HEIGHT - 1 && section < Chunk.SECTION_COUNT - 1) invalidateSection(chunk, section + 1);
+    }
+
+    /**
+     * Verwirft das Mesh eines Chunks und gibt seine Vertices frei, z.B. wenn der Chunk entladen wird.
+     *
+     * @param chunk Der Chunk.
+     */
+    public static void disposeChunkMesh(Chunk chunk) {
+        Entry entry = cache.remove(key(chunk));
+        if (entry != null) releaseSlots(entry);
+    }
+
+    /**
+     * Setzt, wie viele Bytes die Vertices aller Chunk-Meshes auf der GPU belegen dürfen, siehe
+     * {@link #getResidentBytes()}. Darüber hinaus werden die am längsten nicht mehr gezeichneten Meshes freigegeben
+     * und bei Bedarf neu gebaut. Meshes, die im letzten Frame gezeichnet wurden, werden nie verdrängt.
+     * <p>
+     * Die Seiten des {@link ChunkVertexPool} sind etwas grösser, weil zwischen den Meshes Lücken bleiben. Sie werden
+     * unabhängig davon gelöscht, sobald sie leer sind; nach ihnen zu verdrängen würde fast alle Meshes treffen,
+     * bevor eine Seite ganz frei wird.
+     *
+     * @param bytes Das Budget in Bytes.
+     */
+    public static void setMemoryBudget(long bytes) {
+        memoryBudget = bytes;
+    }
+
+    /**
+     * Gibt das Budget für die Vertices aller Chunk-Meshes zurück.
+     *
+     * @return Das Budget in Bytes.
+     */
+    public static long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Gibt zurück, wie viele Bytes die Vertices der Chunk-Meshes zurzeit auf der GPU belegen. Das ist der Wert,
+     * der mit dem Budget verglichen wird. Der Index-Puffer wird von allen geteilt und nicht mitgezählt.
+     *
+     * @return Die belegten Bytes.
+     */
+    public static long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Gibt zurück, wie viele Bytes die Vertex-Puffer der Chunk-Meshes auf der GPU belegen, mit ihrem freien Platz.
+     *
+     * @return Die Grösse der Vertex-Puffer in Bytes.
+     */
+    public static long getAllocatedBytes() {
+        return vertexPool.getAllocatedBytes();
+    }
+
+    /**
+     * Gibt zurück, wie oft ein fertiges Mesh wiederverwendet wurde, als sein Chunk nach mindestens einem Frame
+     * ausserhalb des Bildes wieder gezeichnet wurde.
+     *
+     * @return Die Anzahl der Treffer.
+     */
+    public static long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gibt zurück, wie oft ein Mesh gebaut werden musste, weil der Chunk keins hatte, weil er neu geladen oder
+     * sein Mesh verdrängt wurde.
+     *
+     * @return Die Anzahl der Fehlschläge.
+     */
+    public static long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gibt zurück, wie viele Meshes wegen des Budgets verdrängt wurden.
+     *
+     * @return Die Anzahl der Verdrängungen.
+     */
+    public static long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Lädt fertig gebaute Meshes auf die GPU, höchstens {@link #UPLOAD_BUDGET_PER_FRAME} pro Aufruf,
+     * und verdrängt danach alte Meshes, bis das Budget wieder eingehalten ist.
+     * Muss einmal pro Frame vor dem Zeichnen auf dem Render-Thread aufgerufen werden.
+     */
+    public static void update() {
+        frame++;
+        for (int uploaded = 0; uploaded < UPLOAD_BUDGET_PER_FRAME; uploaded++) {
+            BuildResult result = finished.poll();
+            if (result == null) break;
+
+            Entry entry = result.entry;
+            entry.building = false;
+
+            if (result.sections == null) {
+                // Fehlgeschlagen: die Abschnitte bleiben zu bauen, sonst fehlen sie bis zur nächsten Änderung
+                entry.dirtySections |= result.dirtySections;
+                continue;
+            }
+
+            // Der Eintrag wurde inzwischen verworfen (z.B. Moduswechsel)
+            boolean current = cache.get(entry.key) == entry;
+            if (current) entry.level = result.level;
+            for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+                ChunkMeshData data = result.sections[section];
+                if (data == null) continue;
+
+                if (current) {
+                    // Zuerst freigeben, damit das neue Mesh den alten Bereich wiederverwenden kann
+                    releaseSlot(entry, section);
+                    ChunkVertexPool.Slot slot = vertexPool.upload(data);
+                    entry.slots[section] = slot;
+                    result.chunk.setConnectivity(section, data.connectivity);
+                    if (slot != null) {
+                        entry.bytes += slot.getBytes();
+                        residentBytes += slot.getBytes();
                     }
+                }
+                releaseMeshData(data);
+            }
+            if (current && entry.bytes > 0) touch(entry);
+        }
+
+        // Was im letzten Frame gezeichnet wurde, bleibt auch über dem Budget erhalten
+        while (residentBytes > memoryBudget && oldest != null && oldest.lastUsedFrame < frame - 1) {
+            Entry entry = oldest;
+            cache.remove(entry.key);
+            releaseSlots(entry);
+            evictions++;
+        }
+    }
+
+    /**
+     * Setzt einen Eintrag mit Vertices an das neue Ende der LRU-Liste.
+     */
+    private static void touch(Entry entry) {
+        if (newest == entry) return;
+        unlink(entry);
+        entry.older = newest;
+        if (newest != null) newest.newer = entry;
+        newest = entry;
+        if (oldest == null) oldest = entry;
+    }
+
+    private static void unlink(Entry entry) {
+        if (entry.newer != null) entry.newer.older = entry.older;
+        else if (newest == entry) newest = entry.older;
+        if (entry.older != null) entry.older.newer = entry.newer;
+        else if (oldest == entry) oldest = entry.newer;
+        entry.newer = null;
+        entry.older = null;
+    }
+
+    /**
+     * Gibt die Vertices aller Abschnitte eines Eintrags frei und nimmt ihn aus der LRU-Liste.
+     */
+    private static void releaseSlots(Entry entry) {
+        for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+            releaseSlot(entry, section);
+        }
+    }
+
+    /**
+     * Gibt die Vertices eines Abschnitts frei. Bleibt nichts übrig, wird der Eintrag aus der LRU-Liste genommen.
+     */
+    private static void releaseSlot(Entry entry, int section) {
+        ChunkVertexPool.Slot slot = entry.slots[section];
+        if (slot == null) return;
+        entry.slots[section] = null;
+        entry.bytes -= slot.getBytes();
+        residentBytes -= slot.getBytes();
+        vertexPool.free(slot);
+        if (entry.bytes == 0) unlink(entry);
+    }
+
+    /**
+     * Holt einen leeren Geometrie-Puffer aus dem Pool oder legt einen neuen an.
+     */
+    private static ChunkMeshData obtainMeshData() {
+        ChunkMeshData data = meshDataPool.poll();
+        if (data == null) return new ChunkMeshData();
+        data.clear();
+        return data;
+    }
+
+    private static void releaseMeshData(ChunkMeshData data) {
+        // size() zählt die Elemente, ist bei der kleinen Grösse des Pools aber günstig genug
+        if (meshDataPool.size() < MESH_DATA_POOL_SIZE) meshDataPool.add(data);
+    }
+
+    /**
+     * Gibt alle Meshes und Vertex-Puffer frei und beendet die Mesh-Worker.
+     */
+    public static void dispose() {
+        clear();
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+        finished.clear();
+        meshDataPool.clear();
+        vertexPool.dispose();
+    }
+
+    private static void clear() {
+        for (Entry entry : cache.values()) {
+            releaseSlots(entry);
+        }
+        cache.clear();
+    }
+
+    /**
+     * Kopiert den Chunk und übergibt den Neubau der veralteten Abschnitte an einen Worker.
+     */
+    private static void schedule(Entry entry, Chunk chunk, int level) {
+        if (workers == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            workers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "chunk-mesher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        ChunkSnapshot snapshot = snapshotPool.poll();
+        if (snapshot == null) snapshot = new ChunkSnapshot();
+        snapshot.set(chunk);
+
+        final int sections = entry.dirtySections;
+        entry.dirtySections = 0;
+        entry.building = true;
+
+        final ChunkSnapshot snap = snapshot;
+        final Mode buildMode = mode;
+        workers.execute(() -> {
+            ChunkMeshData[] result = new ChunkMeshData[Chunk.SECTION_COUNT];
+            try {
+                for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+                    if ((sections & 1 << section) != 0) result[section] = obtainMeshData();
+                }
+                buildMeshData(snap, buildMode, level, result);
+            } catch (RuntimeException e) {
+                Gdx.app.error("ChunkMesher", "Failed to mesh chunk at " + snap.originX + " " + snap.originZ, e);
+                for (ChunkMeshData data : result) {
+                    if (data != null) releaseMeshData(data);
+                }
+                result = null;
+            } finally {
+                snapshotPool.add(snap);
+                finished.add(new BuildResult(entry, chunk, level, sections, result));
+            }
+        });
+    }
+
+    /**
+     * Baut die Geometrie von Abschnitten eines Chunks aus einem Snapshot. Läuft ohne OpenGL auf einem
+     * Worker-Thread. Das Ergebnis hängt nur vom Snapshot, vom Verfahren und von der Detailstufe ab.
+     * Nebenbei werden die Verbindungen der Seiten der Abschnitte für das Occlusion Culling berechnet.
+     * <p>
+     * Gröbere Detailstufen werden immer mit Greedy-Meshing aus einem verkleinerten Snapshot gebaut. An den
+     * Rändern zu den Nachbarn bekommen sie Schürzen: Die Seiten der obersten festen Zellen werden auch dann
+     * erzeugt, wenn der Nachbar dort fest ist, damit zu einem feineren Nachbarn keine Lücken sichtbar werden.
+     *
+     * @param snap Der Snapshot des Chunks in voller Auflösung.
+     * @param buildMode Das Meshing-Verfahren für die volle Auflösung.
+     * @param level Die Detailstufe zwischen 0 und {@link #MAX_LOD_LEVEL}.
+     * @param sections Die leere Geometrie pro Abschnitt, in die geschrieben wird; Abschnitte mit {@code null}
+     *                 werden nicht gebaut.
+     */
+    static void buildMeshData(ChunkSnapshot snap, Mode buildMode, int level, ChunkMeshData[] sections) {
+        ChunkSnapshot source = snap;
+        if (level > 0) {
+            source = lodSnapshot.get();
+            source.downsample(snap, level);
+        }
+
+        for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+            ChunkMeshData data = sections[section];
+            if (data == null) continue;
+
+            data.originX = snap.originX;
+            data.originY = snap.originY;
+            data.originZ = snap.originZ;
+            VoxelType uniform = snap.sectionTypes[section];
+            data.connectivity = uniform == null ? ChunkConnectivity.compute(snap.ids, section)
+                : uniform == VoxelType.AIR ? ChunkConnectivity.ALL : 0;
 
-                    // NORTH / SOUTH
-                    if (!chunk.inBounds(x, y, z+1) || chunk.getBlock(x, y, z+1) == VoxelType.AIR) {
-                        mpbNS.setColor(r, g, b, 1f);
-                        addQuad(mpbNS, bx, by, bz, Face.NORTH);
+            // Abschnitte aus reiner Luft enthalten nichts Sichtbares
+            if (uniform == VoxelType.AIR) continue;
+
+            if (level > 0 || buildMode == Mode.GREEDY) {
+                buildGreedy(source, section, data.topBottom, data.eastWest, data.northSouth);
+            } else {
+                buildPerFace(snap, section, data.topBottom, data.eastWest, data.northSouth);
+            }
+        }
+    }
+
+    /**
+     * Fügt die sichtbaren Seiten aller Voxel eines Abschnitts einzeln hinzu.
+     *
+     * @param snap Der Snapshot des Chunks.
+     * @param section Der Index des Abschnitts.
+     * @param mpbTB Der Part für Ober- und Unterseiten.
+     * @param mpbEW Der Part für Ost- und Westseiten.
+     * @param mpbNS Der Part für Nord- und Südseiten.
+     */
+    private static void buildPerFace(ChunkSnapshot snap, int section, ChunkMeshData.Part mpbTB,
+                                     ChunkMeshData.Part mpbEW, ChunkMeshData.Part mpbNS) {
+        // In einem komplett gefüllten Abschnitt können nur Voxel auf seiner Hülle sichtbare Seiten haben
+        boolean filled = snap.sectionTypes[section] != null;
+        int y0 = section * ChunkSection.HEIGHT;
+        int y1 = y0 + ChunkSection.HEIGHT - 1;
+
+        for (int y = y0; y <= y1; y++) {
+            for (int z = 0; z < Chunk.DEPTH; z++) {
+                boolean shellOnly = filled && y != y0 && y != y1 && z != 0 && z != Chunk.DEPTH - 1;
+                int step = shellOnly ? Chunk.WIDTH - 1 : 1;
+
+                for (int x = 0; x < Chunk.WIDTH; x += step) {
+                    addVoxelFaces(snap, x, y, z, mpbTB, mpbEW, mpbNS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fügt die sichtbaren Seiten eines einzelnen Voxels zu den Mesh-Parts hinzu.
+     *
+     * @param snap Der Snapshot des Chunks.
+     * @param x Die lokale X-Koordinate.
+     * @param y Die lokale Y-Koordinate.
+     * @param z Die lokale Z-Koordinate.
+     * @param mpbTB Der Part für Ober- und Unterseiten.
+     * @param mpbEW Der Part für Ost- und Westseiten.
+     * @param mpbNS Der Part für Nord- und Südseiten.
+     */
+    private static void addVoxelFaces(ChunkSnapshot snap, int x, int y, int z, ChunkMeshData.Part mpbTB,
+                                      ChunkMeshData.Part mpbEW, ChunkMeshData.Part mpbNS) {
+        final byte air = VoxelType.AIR.getId();
+        final byte[] ids = snap.ids;
+        int i = Chunk.index(x, y, z);
+
+        VoxelType type = VoxelType.fromId(ids[i]);
+        if (!type.isVisible()) return;
+
+        // Leichte Farbanpassung damit nicht alle Blöcke gleich aussehen
+        float tint = tintFactor(tintBucket(snap.originX + x, snap.originY + y, snap.originZ + z));
+        float r = type.color.r * tint;
+        float g = type.color.g * tint;
+        float b = type.color.b * tint;
+
+        /**
+         *  Für jeden Block wird geprüft, ob ein Nachbarblock Luft ist und wenn nicht,
+         *  werden die Quads (Rechtecke) für die jeweilige seite generiert.
+         *
+         *  Weil, sonst würden unnötig viele quads angezeigt, die nicht sichtbar sind --> Lag
+         */
+
+        // Am Rand des Chunks entscheidet der Nachbar-Chunk aus dem Snapshot
+
+        // TOP / BOTTOM
+        if ((y == Chunk.HEIGHT - 1 ? snap.outsideId(1, 1, x, y, z) : ids[i + Chunk.LAYER_SIZE]) == air) {
+            mpbTB.setColor(r, g, b, 1f);
+            addQuad(mpbTB, x, y, z, 1, 1, 1, Face.TOP);
+        }
+        if ((y == 0 ? snap.outsideId(1, -1, x, y, z) : ids[i - Chunk.LAYER_SIZE]) == air) {
+            mpbTB.setColor(r, g, b, 1f);
+            addQuad(mpbTB, x, y, z, 1, 1, 1, Face.BOTTOM);
+        }
+
+        // EAST / WEST
+        if ((x == Chunk.WIDTH - 1 ? snap.outsideId(0, 1, x, y, z) : ids[i + 1]) == air) {
+            mpbEW.setColor(r, g, b, 1f);
+            addQuad(mpbEW, x, y, z, 1, 1, 1, Face.EAST);
+        }
+        if ((x == 0 ? snap.outsideId(0, -1, x, y, z) : ids[i - 1]) == air) {
+            mpbEW.setColor(r, g, b, 1f);
+            addQuad(mpbEW, x, y, z, 1, 1, 1, Face.WEST);
+        }
+
+        // NORTH / SOUTH
+        if ((z == Chunk.DEPTH - 1 ? snap.outsideId(2, 1, x, y, z) : ids[i + Chunk.WIDTH]) == air) {
+            mpbNS.setColor(r, g, b, 1f);
+            addQuad(mpbNS, x, y, z, 1, 1, 1, Face.NORTH);
+        }
+        if ((z == 0 ? snap.outsideId(2, -1, x, y, z) : ids[i - Chunk.WIDTH]) == air) {
+            mpbNS.setColor(r, g, b, 1f);
+            addQuad(mpbNS, x, y, z, 1, 1, 1, Face.SOUTH);
+        }
+    }
+
+    /**
+     * Baut die Seiten eines Abschnitts mit Greedy-Meshing: Pro Richtung und Ebene wird eine Maske der
+     * sichtbaren Seiten erstellt, und Seiten mit gleichem Voxeltyp und gleicher Farbstufe werden
+     * zu möglichst grossen Rechtecken zusammengefasst. Die Rechtecke enden an den Grenzen des Abschnitts.
+     * Bei einem verkleinerten Snapshot wird in Zellen gerechnet und mit {@link ChunkSnapshot#scale} skaliert.
+     *
+     * @param snap Der Snapshot des Chunks.
+     * @param section Der Index des Abschnitts.
+     * @param mpbTB Der Part für Ober- und Unterseiten.
+     * @param mpbEW Der Part für Ost- und Westseiten.
+     * @param mpbNS Der Part für Nord- und Südseiten.
+     */
+    private static void buildGreedy(ChunkSnapshot snap, int section, ChunkMeshData.Part mpbTB,
+                                    ChunkMeshData.Part mpbEW, ChunkMeshData.Part mpbNS) {
+        final byte[] ids = snap.ids;
+        final int scale = snap.scale;
+        final int[] dims = {snap.sizeX, snap.sizeY, snap.sizeZ};
+        final int[] strides = {1, snap.sizeX * snap.sizeZ, snap.sizeX};
+        // Die Grenzen des Abschnitts in Zellen, das Ende jeweils ausschliesslich
+        final int[] lo = {0, section * ChunkSection.HEIGHT / scale, 0};
+        final int[] hi = {dims[0], (section + 1) * ChunkSection.HEIGHT / scale, dims[2]};
+        final byte air = VoxelType.AIR.getId();
+        // Schürzen nur bei gröberen Stufen, der feinere Nachbar sieht die Grenze genau
+        final boolean skirts = scale > 1;
+        final int[] mask = greedyMask.get();
+        final int[] p = new int[3];
+        final int[] q = new int[3];
+        final int[] size = new int[3];
+
+        for (Face face : FACES) {
+            int d = face.axis;
+            int u = d == 0 ? 2 : 0; // Achse entlang der Breite der Maske
+            int v = d == 1 ? 2 : 1; // Achse entlang der Höhe der Maske
+            int offset = face.dir * strides[d];
+            ChunkMeshData.Part mpb = d == 1 ? mpbTB : d == 0 ? mpbEW : mpbNS;
+            int width = hi[u] - lo[u];
+            int height = hi[v] - lo[v];
+
+            for (p[d] = lo[d]; p[d] < hi[d]; p[d]++) {
+                boolean border = p[d] + face.dir < 0 || p[d] + face.dir >= dims[d];
+
+                // 1) Maske füllen: 0 = keine Seite, sonst Voxeltyp und Farbstufe + 1
+                int n = 0;
+                boolean any = false;
+                for (p[v] = lo[v]; p[v] < hi[v]; p[v]++) {
+                    for (p[u] = lo[u]; p[u] < hi[u]; p[u]++, n++) {
+                        int i = (p[1] * dims[2] + p[2]) * dims[0] + p[0];
+                        byte id = ids[i];
+                        if (id == air) {
+                            mask[n] = 0;
+                            continue;
+                        }
+                        byte next = border ? snap.outsideId(d, face.dir, p[0], p[1], p[2]) : ids[i + offset];
+                        boolean skirt = skirts && border && d != 1
+                            && (p[1] == dims[1] - 1 || ids[i + strides[1]] == air);
+                        if (next != air && !skirt) {
+                            mask[n] = 0;
+                            continue;
+                        }
+                        int bucket = tintBucket(snap.originX + p[0] * scale, snap.originY + p[1] * scale,
+                            snap.originZ + p[2] * scale);
+                        mask[n] = ((id * TINT_BUCKETS) | bucket) + 1;
+                        any = true;
                     }
-                    if (!chunk.inBounds(x, y, z-1) || chunk.getBlock(x, y, z-1) == VoxelType.AIR) {
-                        mpbNS.setColor(r, g, b, 1f);
-                        addQuad(mpbNS, bx, by, bz, Face.SOUTH);
+                }
+                if (!any) continue;
+
+                // 2) Rechtecke gieriger Reihe nach aus der Maske herauslösen
+                n = 0;
+                for (int j = 0; j < height; j++) {
+                    for (int i = 0; i < width; ) {
+                        int code = mask[n];
+                        if (code == 0) {
+                            i++;
+                            n++;
+                            continue;
+                        }
+
+                        int w = 1;
+                        while (i + w < width && mask[n + w] == code) w++;
+
+                        int h = 1;
+                        grow:
+                        while (j + h < height) {
+                            for (int k = 0; k < w; k++) {
+                                if (mask[n + k + h * width] != code) break grow;
+                            }
+                            h++;
+                        }
+
+                        for (int l = 0; l < h; l++) {
+                            for (int k = 0; k < w; k++) {
+                                mask[n + k + l * width] = 0;
+                            }
+                        }
+
+                        VoxelType type = VoxelType.fromId((code - 1) / TINT_BUCKETS);
+                        float tint = tintFactor((code - 1) & (TINT_BUCKETS - 1));
+                        mpb.setColor(type.color.r * tint, type.color.g * tint, type.color.b * tint, 1f);
+
+                        size[d] = scale;
+                        size[u] = w * scale;
+                        size[v] = h * scale;
+                        q[d] = p[d];
+                        q[u] = lo[u] + i;
+                        q[v] = lo[v] + j;
+                        addQuad(mpb, q[0] * scale, q[1] * scale, q[2] * scale, size[0], size[1], size[2], face);
+
+                        i += w;
+                        n += w;
                     }
                 }
             }
         }
+    }
+
+    /**
+     * Bestimmt die Farbstufe eines Blocks aus seiner Weltposition.
+     * Die Stufe ist deterministisch, damit beide Meshing-Verfahren dieselbe Oberfläche erzeugen.
+     *
+     * @param wx Die Welt-X-Koordinate.
+     * @param wy Die Welt-Y-Koordinate.
+     * @param wz Die Welt-Z-Koordinate.
+     * @return Die Farbstufe zwischen 0 und {@link #TINT_BUCKETS} - 1.
+     */
+    private static int tintBucket(int wx, int wy, int wz) {
+        int h = ((wx >> TINT_CELL_SHIFT) * 73856093)
+            ^ ((wy >> TINT_CELL_SHIFT) * 19349663)
+            ^ ((wz >> TINT_CELL_SHIFT) * 83492791);
+        h ^= h >>> 13;
+        h *= 0x5bd1e995;
+        h ^= h >>> 15;
+        return h & (TINT_BUCKETS - 1);
+    }
 
-        return builder.end();
+    /**
+     * Rechnet eine Farbstufe in einen Helligkeitsfaktor zwischen 0.9 und 1.1 um.
+     *
+     * @param bucket Die Farbstufe.
+     * @return Der Faktor.
+     */
+    private static float tintFactor(int bucket) {
+        return 0.9f + bucket * (0.2f / (TINT_BUCKETS - 1));
     }
 
-    private static void addQuad(MeshPartBuilder mpb, float x, float y, float z, Face face) {
+    /**
+     * Fügt ein Rechteck für eine Seite hinzu, das sich ab der lokalen Position (x, y, z) über sx * sy * sz
+     * Blöcke erstreckt. Entlang der Normalen liegt die Seite am Anfang oder am Ende dieser Ausdehnung.
+     */
+    private static void addQuad(ChunkMeshData.Part mpb, int x, int y, int z,
+                                int sx, int sy, int sz, Face face) {
+        int f = face.ordinal();
         switch (face) {
             case TOP:
                 mpb.rect(
-                    x,   y+1, z,
-                    x,   y+1, z+1,
-                    x+1, y+1, z+1,
-                    x+1, y+1, z,
-                    0, 1, 0
+                    x,    y+sy, z,
+                    x,    y+sy, z+sz,
+                    x+sx, y+sy, z+sz,
+                    x+sx, y+sy, z,
+                    f
                 );
                 break;
             case BOTTOM:
                 mpb.rect(
-                    x,   y,   z,
-                    x+1, y,   z,
-                    x+1, y,   z+1,
-                    x,   y,   z+1,
-                    0, -1, 0
+                    x,    y,   z,
+                    x+sx, y,   z,
+                    x+sx, y,   z+sz,
+                    x,    y,   z+sz,
+                    f
                 );
                 break;
             case NORTH:
                 mpb.rect(
-                    x,   y,   z+1,
-                    x+1, y,   z+1,
-                    x+1, y+1, z+1,
-                    x,   y+1, z+1,
-                    0, 0, -1
+                    x,    y,    z+sz,
+                    x+sx, y,    z+sz,
+                    x+sx, y+sy, z+sz,
+                    x,    y+sy, z+sz,
+                    f
                 );
                 break;
             case SOUTH:
                 mpb.rect(
-                    x+1, y,   z,
-                    x,   y,   z,
-                    x,   y+1, z,
-                    x+1, y+1, z,
-                    0, 0, 1
+                    x+sx, y,    z,
+                    x,    y,    z,
+                    x,    y+sy, z,
+                    x+sx, y+sy, z,
+                    f
                 );
                 break;
             case EAST:
                 mpb.rect(
-                    x+1, y,   z+1,
-                    x+1, y,   z,
-                    x+1, y+1, z,
-                    x+1, y+1, z+1,
-                    -1, 0, 0
+                    x+sx, y,    z+sz,
+                    x+sx, y,    z,
+                    x+sx, y+sy, z,
+                    x+sx, y+sy, z+sz,
+                    f
                 );
                 break;
             case WEST:
                 mpb.rect(
-                    x,   y,   z,
-                    x,   y,   z+1,
-                    x,   y+1, z+1,
-                    x,   y+1, z,
-                    1, 0, 0
+                    x,   y,    z,
+                    x,   y,    z+sz,
+                    x,   y+sy, z+sz,
+                    x,   y+sy, z,
+                    f
                 );
                 break;
         }
@@ -0,0 +1,175 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Entfernt Chunks aus einer Liste von Kandidaten, die von der Kamera aus nicht durch Luft erreichbar sind.
+ * <p>
+ * Ausgehend vom Abschnitt der Kamera läuft eine Breitensuche über die {@link ChunkSection Abschnitte}
+ * der Kandidaten: seitlich in die Nachbar-Chunks, nach oben und unten innerhalb eines Chunks. Ein Abschnitt
+ * wird nur betreten, wenn im aktuellen Abschnitt die Seite, durch die man hereingekommen ist, mit der Seite
+ * zum nächsten verbunden ist ({@link ChunkConnectivity}) und wenn die Suche dabei nicht in eine Richtung
+ * zurückläuft, in die sie schon gegangen ist. Ein Chunk bleibt sichtbar, wenn einer seiner Abschnitte
+ * erreicht wurde.
+ * <p>
+ * Über der Welt ist nur Himmel: Kommt man in einem obersten Abschnitt bis zur Oberseite, kann man auch über
+ * die Nachbarn hinweg sehen, deren oberste Abschnitte werden dann wie von oben betreten.
+ * Läuft alles auf der CPU und braucht kein OpenGL.
+ */
+public class ChunkOcclusionCuller {
+    private static final int ALL_FACES = (1 << ChunkConnectivity.FACE_COUNT) - 1;
+
+    /** Die Richtung jeder Seite, die gegenüberliegende Seite ist immer {@code face ^ 1}. */
+    private static final int[] FACE_X = {-1, 1, 0, 0, 0, 0};
+    private static final int[] FACE_Y = {0, 0, 0, 0, 1, -1};
+    private static final int[] FACE_Z = {0, 0, -1, 1, 0, 0};
+
+    private static final int TOP_SECTION = Chunk.SECTION_COUNT - 1;
+
+    /** Im Zustand eines Abschnitts: Bits 0-5 die Eingangsseiten, Bits 6-11 die gegangenen Richtungen, Bit 12 besucht. */
+    private static final int DIRECTION_SHIFT = ChunkConnectivity.FACE_COUNT;
+    private static final int VISITED = 1 << (2 * ChunkConnectivity.FACE_COUNT);
+
+    /** Der Index jedes Kandidaten in der übergebenen Liste. */
+    private final ObjectIntMap<Chunk> indices = new ObjectIntMap<>();
+
+    /** Der Zustand jedes Abschnitts, Index {@code chunkIndex * SECTION_COUNT + section}. */
+    private final IntArray states = new IntArray();
+
+    /** Die Warteschlange der Breitensuche, Einträge wie bei {@link #states}. */
+    private final IntArray queue = new IntArray();
+
+    private int culledCount;
+
+    /**
+     * Entfernt die verdeckten Chunks aus {@code visible}. Die Reihenfolge der übrigen bleibt erhalten.
+     * Ist die Kamera ausserhalb der Welthöhe oder ihr Chunk nicht unter den Kandidaten, wird nichts entfernt.
+     *
+     * @param eye Die Position der Kamera.
+     * @param visible Die Chunks im Frustum, wird gefiltert.
+     */
+    public void cull(Vector3 eye, Array<Chunk> visible) {
+        culledCount = 0;
+        if (eye.y < 0 || eye.y >= Chunk.HEIGHT) return;
+
+        int eyeX = (int) Math.floor(eye.x / Chunk.WIDTH);
+        int eyeZ = (int) Math.floor(eye.z / Chunk.DEPTH);
+        int startChunk = -1;
+        indices.clear();
+        states.clear();
+        for (int i = 0; i < visible.size; i++) {
+            Chunk chunk = visible.get(i);
+            indices.put(chunk, i);
+            for (int section = 0; section < Chunk.SECTION_COUNT; section++) states.add(0);
+            if (Math.floorDiv(chunk.originX, Chunk.WIDTH) == eyeX && Math.floorDiv(chunk.originZ, Chunk.DEPTH) == eyeZ) {
+                startChunk = i;
+            }
+        }
+        if (startChunk < 0) return;
+
+        int start = startChunk * Chunk.SECTION_COUNT + (int) eye.y / ChunkSection.HEIGHT;
+        queue.clear();
+        states.set(start, VISITED);
+        queue.add(start);
+        for (int head = 0; head < queue.size; head++) {
+            int node = queue.get(head);
+            int chunkIndex = node / Chunk.SECTION_COUNT;
+            int section = node % Chunk.SECTION_COUNT;
+            Chunk chunk = visible.get(chunkIndex);
+            int state = states.get(node);
+            int entry = state & ALL_FACES;
+            int directions = state >>> DIRECTION_SHIFT & ALL_FACES;
+            int connectivity = chunk.getConnectivity(section);
+            boolean isStart = node == start;
+
+            for (int face = 0; face < ChunkConnectivity.FACE_COUNT; face++) {
+                // Nie in die Gegenrichtung einer schon gegangenen Richtung, nie zurück zur Kamera
+                if ((directions & 1 << (face ^ 1)) != 0) continue;
+                if (!awayFromEye(chunk, section, face, eye)) continue;
+                // Im Abschnitt der Kamera ist jede Seite sichtbar
+                if (!isStart && !ChunkConnectivity.connectsAny(connectivity, entry, face)) continue;
+
+                if (face == ChunkConnectivity.UP) {
+                    if (section < TOP_SECTION) {
+                        enter(node + 1, face, directions);
+                    } else {
+                        enterFromSky(chunk, section, directions, eye);
+                    }
+                } else if (face == ChunkConnectivity.DOWN) {
+                    if (section > 0) enter(node - 1, face, directions);
+                } else {
+                    Chunk neighbor = chunk.getNeighbor(face);
+                    if (neighbor == null) continue;
+                    int neighborIndex = indices.get(neighbor, -1);
+                    if (neighborIndex >= 0) enter(neighborIndex * Chunk.SECTION_COUNT + section, face, directions);
+                }
+            }
+        }
+
+        int kept = 0;
+        for (int i = 0; i < visible.size; i++) {
+            if (isReached(i)) visible.set(kept++, visible.get(i));
+        }
+        culledCount = visible.size - kept;
+        visible.truncate(kept);
+    }
+
+    /**
+     * Betritt einen Abschnitt über die Seite, die {@code face} gegenüber liegt.
+     */
+    private void enter(int node, int face, int directions) {
+        if (states.get(node) != 0) return;
+        states.set(node, VISITED | 1 << (face ^ 1) | (directions | 1 << face) << DIRECTION_SHIFT);
+        queue.add(node);
+    }
+
+    /**
+     * Über der Welt weiter: Die obersten Abschnitte der Nachbarn werden von oben betreten.
+     */
+    private void enterFromSky(Chunk chunk, int section, int directions, Vector3 eye) {
+        for (int side = 0; side < 4; side++) {
+            if ((directions & 1 << (side ^ 1)) != 0) continue;
+            if (!awayFromEye(chunk, section, side, eye)) continue;
+
+            Chunk neighbor = chunk.getNeighbor(side);
+            if (neighbor == null) continue;
+            int neighborIndex = indices.get(neighbor, -1);
+            if (neighborIndex < 0) continue;
+
+            int node = neighborIndex * Chunk.SECTION_COUNT + TOP_SECTION;
+            if (states.get(node) != 0) continue;
+            states.set(node, VISITED | 1 << ChunkConnectivity.UP | (directions | 1 << side) << DIRECTION_SHIFT);
+            queue.add(node);
+        }
+    }
+
+    private boolean isReached(int chunkIndex) {
+        for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+            if (states.get(chunkIndex * Chunk.SECTION_COUNT + section) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Prüft, ob eine Seite eines Abschnitts von der Kamera weg zeigt, die Kamera also nicht jenseits davon liegt.
+     */
+    private static boolean awayFromEye(Chunk chunk, int section, int face, Vector3 eye) {
+        float dx = chunk.originX + Chunk.WIDTH / 2f - eye.x;
+        float dy = chunk.originY + (section + 0.5f) * ChunkSection.HEIGHT - eye.y;
+        float dz = chunk.originZ + Chunk.DEPTH / 2f - eye.z;
+        float halfSize = FACE_Y[face] != 0 ? ChunkSection.HEIGHT / 2f : Chunk.WIDTH / 2f;
+        return dx * FACE_X[face] + dy * FACE_Y[face] + dz * FACE_Z[face] >= -halfSize;
+    }
+
+    /**
+     * Gibt zurück, wie viele Chunks beim letzten {@link #cull(Vector3, Array)} entfernt wurden.
+     *
+     * @return Die Anzahl der verdeckten Chunks.
+     */
+    public int getCulledCount() {
+        return culledCount;
+    }
+}
@@ -0,0 +1,230 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Ein Quadtree über die Chunk-Säulen, mit dem die sichtbaren Chunks ohne Test jedes einzelnen Chunks
+ * gefunden werden.
+ * <p>
+ * Die Welt ist in Wurzelknoten zu {@link #ROOT_SIZE} x {@link #ROOT_SIZE} Chunks aufgeteilt, die nur
+ * existieren, solange darin Chunks geladen sind. Jeder Knoten kennt seine Grenzen; liegt ein Knoten
+ * ausserhalb des Frustums oder der Sichtweite, wird er mit allen Chunks darin übersprungen, liegt er
+ * ganz im Frustum, werden seine Chunks ohne weitere Frustum-Tests übernommen.
+ */
+public class ChunkQuadtree {
+    /** Die Tiefe der Wurzelknoten, ein Blatt (Tiefe 0) enthält einen Chunk. */
+    private static final int ROOT_LEVEL = 4;
+
+    /** Die Breite eines Wurzelknotens in Chunks. */
+    public static final int ROOT_SIZE = 1 << ROOT_LEVEL;
+
+    private static final int OUTSIDE = 0, INTERSECTS = 1, INSIDE = 2;
+
+    private static final class Node {
+        /** Die Chunk-Koordinaten der Ecke mit den kleinsten Werten. */
+        final int chunkX, chunkZ;
+        final int level;
+        /** Die Grenzen in Weltkoordinaten, die Höhe umfasst immer den ganzen Chunk. */
+        final float minX, minZ, maxX, maxZ;
+        /** Die Kinder in der Reihenfolge (x, z), (x+1, z), (x, z+1), (x+1, z+1), nur ohne Chunk. */
+        final Node[] children;
+        Chunk chunk;
+        /** Anzahl der Chunks im Teilbaum. */
+        int count;
+        /** Die quadrierte Entfernung zur Kamera, nur während einer Abfrage gültig. */
+        float distance;
+
+        Node(int chunkX, int chunkZ, int level) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.level = level;
+            minX = chunkX * (float) Chunk.WIDTH;
+            minZ = chunkZ * (float) Chunk.DEPTH;
+            maxX = minX + (Chunk.WIDTH << level);
+            maxZ = minZ + (Chunk.DEPTH << level);
+            children = level > 0 ? new Node[4] : null;
+        }
+    }
+
+    private final LongMap<Node> roots = new LongMap<>();
+
+    /** Zwischenspeicher für die sortierten Wurzeln und Kinder, damit eine Abfrage nichts anlegt. */
+    private final Array<Node> sortedRoots = new Array<>();
+    private final Node[][] sortedChildren = new Node[ROOT_LEVEL + 1][4];
+
+    /** Die quadrierten Entfernungen der bisher gesammelten Chunks, parallel zur Ausgabe ab {@link #outStart}. */
+    private final FloatArray outDistances = new FloatArray();
+    private int outStart;
+
+    /**
+     * Fügt einen geladenen Chunk ein.
+     *
+     * @param chunk Der Chunk.
+     */
+    public void add(Chunk chunk) {
+        int chunkX = Math.floorDiv(chunk.originX, Chunk.WIDTH);
+        int chunkZ = Math.floorDiv(chunk.originZ, Chunk.DEPTH);
+        int rootX = chunkX >> ROOT_LEVEL;
+        int rootZ = chunkZ >> ROOT_LEVEL;
+        long key = ChunkGrid.key(rootX, rootZ);
+
+        Node node = roots.get(key);
+        if (node == null) {
+            node = new Node(rootX << ROOT_LEVEL, rootZ << ROOT_LEVEL, ROOT_LEVEL);
+            roots.put(key, node);
+        }
+        while (node.level > 0) {
+            node.count++;
+            int half = node.level - 1;
+            int child = ((chunkX - node.chunkX) >> half) | ((chunkZ - node.chunkZ) >> half) << 1;
+            if (node.children[child] == null) {
+                node.children[child] = new Node(
+                    node.chunkX + ((child & 1) << half), node.chunkZ + ((child >> 1) << half), half);
+            }
+            node = node.children[child];
+        }
+        if (node.chunk == null) node.count++;
+        node.chunk = chunk;
+    }
+
+    /**
+     * Entfernt einen Chunk. Leere Knoten werden dabei mit entfernt.
+     *
+     * @param chunk Der Chunk.
+     */
+    public void remove(Chunk chunk) {
+        int chunkX = Math.floorDiv(chunk.originX, Chunk.WIDTH);
+        int chunkZ = Math.floorDiv(chunk.originZ, Chunk.DEPTH);
+        long key = ChunkGrid.key(chunkX >> ROOT_LEVEL, chunkZ >> ROOT_LEVEL);
+        Node root = roots.get(key);
+        if (root != null && remove(root, chunkX, chunkZ, chunk) && root.count == 0) {
+            roots.remove(key);
+        }
+    }
+
+    private static boolean remove(Node node, int chunkX, int chunkZ, Chunk chunk) {
+        if (node.level == 0) {
+            if (node.chunk != chunk) return false;
+            node.chunk = null;
+            node.count = 0;
+            return true;
+        }
+        int half = node.level - 1;
+        int child = ((chunkX - node.chunkX) >> half) | ((chunkZ - node.chunkZ) >> half) << 1;
+        Node next = node.children[child];
+        if (next == null || !remove(next, chunkX, chunkZ, chunk)) return false;
+
+        if (next.count == 0) node.children[child] = null;
+        node.count--;
+        return true;
+    }
+
+    /**
+     * Sammelt die Chunks, deren Mitte höchstens {@code maxDistance} (horizontal) von der Kamera entfernt ist
+     * und die im Frustum liegen, nach dieser Entfernung von vorne nach hinten sortiert.
+     *
+     * @param frustum Das Frustum der Kamera.
+     * @param eye Die Position der Kamera.
+     * @param maxDistance Die Sichtweite in Blöcken.
+     * @param out Das Ziel, die Chunks werden angehängt.
+     */
+    public void collectVisible(Frustum frustum, Vector3 eye, float maxDistance, Array<Chunk> out) {
+        float maxDistanceSquared = maxDistance * maxDistance;
+        outDistances.clear();
+        outStart = out.size;
+
+        sortedRoots.clear();
+        for (Node root : roots.values()) {
+            root.distance = distanceSquared(root, eye);
+            if (root.distance <= maxDistanceSquared) sortedRoots.add(root);
+        }
+        sortedRoots.sort((a, b) -> Float.compare(a.distance, b.distance));
+
+        for (int i = 0; i < sortedRoots.size; i++) {
+            collect(sortedRoots.get(i), frustum, eye, maxDistanceSquared, false, out);
+        }
+    }
+
+    private void collect(Node node, Frustum frustum, Vector3 eye, float maxDistanceSquared,
+                         boolean inside, Array<Chunk> out) {
+        if (!inside) {
+            int side = classify(frustum, node);
+            if (side == OUTSIDE) return;
+            inside = side == INSIDE;
+        }
+
+        if (node.level == 0) {
+            float dx = eye.x - (node.minX + Chunk.WIDTH / 2f);
+            float dz = eye.z - (node.minZ + Chunk.DEPTH / 2f);
+            float distance = dx * dx + dz * dz;
+            if (distance > maxDistanceSquared) return;
+
+            // Die Knoten kommen schon fast sortiert, meistens wird hier nichts verschoben
+            int i = outDistances.size;
+            out.add(node.chunk);
+            outDistances.add(distance);
+            while (i > 0 && outDistances.get(i - 1) > distance) {
+                outDistances.set(i, outDistances.get(i - 1));
+                out.set(outStart + i, out.get(outStart + i - 1));
+                i--;
+            }
+            outDistances.set(i, distance);
+            out.set(outStart + i, node.chunk);
+            return;
+        }
+
+        // Die Kinder nach Entfernung sortieren, damit nahe Chunks zuerst gezeichnet werden
+        Node[] sorted = sortedChildren[node.level];
+        int count = 0;
+        for (Node child : node.children) {
+            if (child == null) continue;
+            child.distance = distanceSquared(child, eye);
+            if (child.distance > maxDistanceSquared) continue;
+
+            int i = count++;
+            while (i > 0 && sorted[i - 1].distance > child.distance) {
+                sorted[i] = sorted[i - 1];
+                i--;
+            }
+            sorted[i] = child;
+        }
+        for (int i = 0; i < count; i++) {
+            collect(sorted[i], frustum, eye, maxDistanceSquared, inside, out);
+        }
+    }
+
+    /**
+     * Die quadrierte horizontale Entfernung der Kamera zum nächsten Punkt eines Knotens, 0 wenn sie darüber ist.
+     */
+    private static float distanceSquared(Node node, Vector3 eye) {
+        float dx = Math.max(Math.max(node.minX - eye.x, eye.x - node.maxX), 0f);
+        float dz = Math.max(Math.max(node.minZ - eye.z, eye.z - node.maxZ), 0f);
+        return dx * dx + dz * dz;
+    }
+
+    /**
+     * Prüft, ob ein Knoten ausserhalb, teilweise oder ganz innerhalb des Frustums liegt.
+     * Pro Ebene werden nur die zwei Ecken getestet, die am weitesten vor bzw. hinter der Ebene liegen.
+     */
+    private static int classify(Frustum frustum, Node node) {
+        int result = INSIDE;
+        for (Plane plane : frustum.planes) {
+            Vector3 n = plane.normal;
+            float far = n.x * (n.x >= 0 ? node.maxX : node.minX)
+                + n.y * (n.y >= 0 ? Chunk.HEIGHT : 0)
+                + n.z * (n.z >= 0 ? node.maxZ : node.minZ) + plane.d;
+            if (far < 0) return OUTSIDE;
+
+            float near = n.x * (n.x >= 0 ? node.minX : node.maxX)
+                + n.y * (n.y >= 0 ? 0 : Chunk.HEIGHT)
+                + n.z * (n.z >= 0 ? node.minZ : node.maxZ) + plane.d;
+            if (near < 0) result = INTERSECTS;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.glutils.IndexBufferObject;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Zeichnet die Chunks direkt aus dem {@link ChunkVertexPool}, ohne ModelBatch, Renderables und Materialien.
+ * <p>
+ * Pro Frame werden der Shader, die Kamera-Matrix und der gemeinsame Quad-Index-Puffer einmal gebunden,
+ * der Vertex-Puffer nur, wenn der nächste Chunk in einer anderen Seite liegt. Pro Chunk bleibt nur der
+ * Ursprung als Uniform und ein Draw-Aufruf je {@link #QUADS_PER_DRAW} Quads.
+ */
+public class ChunkRenderer implements Disposable {
+    /** Wie viele Quads höchstens in einem Draw-Aufruf gezeichnet werden, begrenzt durch die 16-Bit-Indizes. */
+    public static final int QUADS_PER_DRAW = (1 << 16) / 4;
+
+    private final ShaderProgram shader;
+
+    /** Der Index-Puffer mit dem Muster 0-1-2, 2-3-0 für {@link #QUADS_PER_DRAW} Quads, gilt für alle Chunks. */
+    private final IndexBufferObject quadIndices;
+
+    private final int projViewLocation;
+    private final int originLocation;
+    private final int fogStartLocation;
+    private final int fogEndLocation;
+    private final int positionLocation;
+    private final int colorLocation;
+
+    private final VertexAttribute positionAttribute = ChunkMeshData.ATTRIBUTES.get(0);
+    private final VertexAttribute colorAttribute = ChunkMeshData.ATTRIBUTES.get(1);
+
+    /** Der Nebelbereich, bis zum ersten {@link #setFog(float, float)} wie früher fest im Shader. */
+    private float fogStart = 110f;
+    private float fogEnd = 150f;
+
+    private int drawCalls;
+
+    /**
+     * Kompiliert den Chunk-Shader und legt den Index-Puffer an. Braucht einen OpenGL-Kontext.
+     *
+     * @param vertexShader Der Code des Vertex-Shaders.
+     * @param fragmentShader Der Code des Fragment-Shaders.
+     */
+    public ChunkRenderer(String vertexShader, String fragmentShader) {
+        shader = new ShaderProgram(vertexShader, fragmentShader);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Could not compile chunk shader: " + shader.getLog());
+        }
+        projViewLocation = shader.getUniformLocation("u_projViewTrans");
+        originLocation = shader.getUniformLocation("u_chunkOrigin");
+        fogStartLocation = shader.getUniformLocation("u_fogStart");
+        fogEndLocation = shader.getUniformLocation("u_fogEnd");
+        positionLocation = shader.getAttributeLocation(positionAttribute.alias);
+        colorLocation = shader.getAttributeLocation(colorAttribute.alias);
+
+        short[] indices = new short[QUADS_PER_DRAW * 6];
+        for (int quad = 0, i = 0; quad < QUADS_PER_DRAW; quad++) {
+            short base = (short) (quad * 4);
+            indices[i++] = base;
+            indices[i++] = (short) (base + 1);
+            indices[i++] = (short) (base + 2);
+            indices[i++] = (short) (base + 2);
+            indices[i++] = (short) (base + 3);
+            indices[i++] = base;
+        }
+        quadIndices = new IndexBufferObject(true, indices.length);
+        quadIndices.setIndices(indices, 0, indices.length);
+    }
+
+    /**
+     * Setzt den Bereich, in dem der Nebel dichter wird, passend zur Sichtweite.
+     *
+     * @param start Die Entfernung zur Kamera, ab der der Nebel beginnt.
+     * @param end Die Entfernung zur Kamera, ab der nur noch Nebel zu sehen ist.
+     */
+    public void setFog(float start, float end) {
+        fogStart = start;
+        fogEnd = end;
+    }
+
+    /**
+     * Zeichnet die Meshes der übergebenen Chunks. Chunks ohne fertiges Mesh werden übersprungen,
+     * ihr Neubau wird dabei im {@link ChunkMesher} beauftragt, je nach Entfernung in einer gröberen Detailstufe.
+     * Danach sind Tiefentest und Backface Culling wieder ausgeschaltet, wie nach {@code ModelBatch.end()}.
+     *
+     * @param camera Die Kamera.
+     * @param chunks Die sichtbaren Chunks.
+     * @return Die Anzahl der gezeichneten Chunks.
+     */
+    public int render(Camera camera, Array<Chunk> chunks) {
+        GL20 gl = Gdx.gl20;
+        gl.glEnable(GL20.GL_DEPTH_TEST);
+        gl.glDepthFunc(GL20.GL_LEQUAL);
+        gl.glDepthMask(true);
+        gl.glDisable(GL20.GL_BLEND);
+
+        shader.bind();
+        shader.setUniformMatrix(projViewLocation, camera.combined);
+        shader.setUniformf(fogStartLocation, fogStart);
+        shader.setUniformf(fogEndLocation, fogEnd);
+        shader.enableVertexAttribute(positionLocation);
+        shader.enableVertexAttribute(colorLocation);
+        quadIndices.bind();
+
+        drawCalls = 0;
+        int rendered = 0;
+        int boundBuffer = -1;
+        for (int i = 0; i < chunks.size; i++) {
+            Chunk chunk = chunks.get(i);
+            float dx = chunk.originX + Chunk.WIDTH / 2f - camera.position.x;
+            float dz = chunk.originZ + Chunk.DEPTH / 2f - camera.position.z;
+            ChunkVertexPool.Slot[] slots = ChunkMesher.getChunkSlots(chunk, (float) Math.sqrt(dx * dx + dz * dz));
+
+            // Alle Abschnitte haben denselben Ursprung, die Vertices sind lokal zum ganzen Chunk
+            boolean originSet = false;
+            for (ChunkVertexPool.Slot slot : slots) {
+                if (slot == null) continue;
+
+                if (slot.page.handle != boundBuffer) {
+                    boundBuffer = slot.page.handle;
+                    gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, boundBuffer);
+                }
+                if (!originSet) {
+                    shader.setUniformf(originLocation, slot.originX, slot.originY, slot.originZ);
+                    originSet = true;
+                }
+
+                int endQuad = slot.firstQuad + slot.quadCount;
+                for (int quad = slot.firstQuad; quad < endQuad; quad += QUADS_PER_DRAW) {
+                    int quads = Math.min(QUADS_PER_DRAW, endQuad - quad);
+                    // Die Attribute auf den Anfang des Fensters setzen, die Indizes beginnen dann wieder bei 0
+                    pointAttributes(quad * ChunkVertexPool.QUAD_BYTES);
+                    gl.glDrawElements(GL20.GL_TRIANGLES, quads * 6, GL20.GL_UNSIGNED_SHORT, 0);
+                    drawCalls++;
+                }
+            }
+            if (originSet) rendered++;
+        }
+
+        quadIndices.unbind();
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+        shader.disableVertexAttribute(positionLocation);
+        shader.disableVertexAttribute(colorLocation);
+        gl.glDisable(GL20.GL_DEPTH_TEST);
+        gl.glDisable(GL20.GL_CULL_FACE);
+        return rendered;
+    }
+
+    private void pointAttributes(int byteOffset) {
+        int stride = ChunkMeshData.ATTRIBUTES.vertexSize;
+        shader.setVertexAttribute(positionLocation, positionAttribute.numComponents, positionAttribute.type,
+            positionAttribute.normalized, stride, byteOffset + positionAttribute.offset);
+        shader.setVertexAttribute(colorLocation, colorAttribute.numComponents, colorAttribute.type,
+            colorAttribute.normalized, stride, byteOffset + colorAttribute.offset);
+    }
+
+    /**
+     * Gibt die Anzahl der Draw-Aufrufe des letzten {@link #render(Camera, Array)} zurück.
+     *
+     * @return Die Anzahl der Draw-Aufrufe.
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    @Override
+    public void dispose() {
+        shader.dispose();
+        quadIndices.dispose();
+    }
+}
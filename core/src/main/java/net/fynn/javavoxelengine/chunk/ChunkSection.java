@@ -0,0 +1,337 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Ein vertikaler Abschnitt eines Chunks mit {@link #HEIGHT} Schichten.
+ * <p>
+ * Ein Abschnitt speichert entweder einen einzigen Voxeltyp für alle Voxel (z.B. nur Luft oder nur Stein)
+ * oder eine Palette der vorkommenden Typen mit einem bit-gepackten Index pro Voxel. Die Bitbreite
+ * (1, 2 oder 4 Bit) richtet sich nach der Anzahl der Typen in der Palette und wächst beim Setzen
+ * eines neuen Typs automatisch mit.
+ */
+public class ChunkSection {
+    /** Die Höhe eines Abschnitts in Blöcken. */
+    public static final int HEIGHT = 16;
+
+    /** Anzahl der Voxel in einem Abschnitt. */
+    public static final int VOLUME = Chunk.LAYER_SIZE * HEIGHT;
+
+    /** Die grösste unterstützte Bitbreite pro Voxel. */
+    private static final int MAX_BITS = 4;
+
+    /** Die Anzahl der Voxeltypen, gültige IDs sind kleiner. */
+    private static final int TYPE_COUNT = VoxelType.values().length;
+
+    /** Der Typ aller Voxel, solange der Abschnitt einheitlich ist, sonst {@code null}. */
+    private VoxelType uniform;
+
+    /** Die Palette der vorkommenden Voxeltypen. */
+    private VoxelType[] palette;
+    private int paletteSize;
+
+    /** Bits pro Voxel, 0 solange der Abschnitt einheitlich ist. */
+    private int bits;
+
+    /** Die gepackten Palettenindizes, {@code 64 / bits} Stück pro long. */
+    private long[] data;
+
+    /**
+     * Erstellt einen einheitlichen Abschnitt.
+     *
+     * @param type Der Voxeltyp aller Voxel des Abschnitts.
+     */
+    public ChunkSection(VoxelType type) {
+        this.uniform = type;
+    }
+
+    /**
+     * Liest einen Abschnitt, der mit {@link #write(DataOutputStream)} gespeichert wurde.
+     *
+     * @param in Der Eingabestrom.
+     * @return Der gelesene Abschnitt.
+     * @throws IOException Wenn der Strom nicht gelesen werden kann oder ungültige Daten enthält.
+     */
+    public static ChunkSection read(DataInputStream in) throws IOException {
+        int bits = in.readUnsignedByte();
+        if (bits == 0) {
+            return new ChunkSection(readType(in));
+        }
+        if (bits != 1 && bits != 2 && bits != MAX_BITS) {
+            throw new IOException("Invalid chunk section bit width: " + bits);
+        }
+
+        ChunkSection section = new ChunkSection(null);
+        section.bits = bits;
+        section.paletteSize = in.readUnsignedByte();
+        if (section.paletteSize < 1 || section.paletteSize > 1 << bits) {
+            throw new IOException("Invalid chunk section palette size " + section.paletteSize + " for " + bits + " bits");
+        }
+        section.palette = new VoxelType[Math.max(2, section.paletteSize)];
+        for (int p = 0; p < section.paletteSize; p++) {
+            section.palette[p] = readType(in);
+        }
+        section.data = new long[VOLUME * bits / 64];
+        for (int i = 0; i < section.data.length; i++) {
+            section.data[i] = in.readLong();
+        }
+        // Jeder Index muss auf einen Eintrag der Palette zeigen, sonst scheitert erst der Zugriff
+        for (int i = 0; i < VOLUME; i++) {
+            if (readIndex(section.data, bits, i) >= section.paletteSize) {
+                throw new IOException("Chunk section palette index out of range at " + i);
+            }
+        }
+        return section;
+    }
+
+    private static VoxelType readType(DataInputStream in) throws IOException {
+        int id = in.readUnsignedByte();
+        if (id >= TYPE_COUNT) throw new IOException("Invalid voxel id " + id);
+        return VoxelType.fromId(id);
+    }
+
+    /**
+     * Erstellt einen Abschnitt aus den Voxel-IDs aller {@link #VOLUME} Voxel auf einmal, z.B. bei der Generierung.
+     * Die Palette enthält genau die vorkommenden Typen mit der kleinstmöglichen Bitbreite, der Abschnitt ist also
+     * schon kompakt.
+     *
+     * @param ids Die Voxel-IDs, Index wie bei {@link #get(int)}.
+     * @param offset Der Startindex in {@code ids}.
+     * @return Der neue Abschnitt.
+     */
+    public static ChunkSection fromIds(byte[] ids, int offset) {
+        // Palettenindex pro ID, -1 solange die ID nicht vorkommt
+        int[] paletteIndexOf = new int[256];
+        Arrays.fill(paletteIndexOf, -1);
+        VoxelType[] palette = new VoxelType[1 << MAX_BITS];
+        int paletteSize = 0;
+        for (int i = offset; i < offset + VOLUME; i++) {
+            int id = ids[i] & 0xFF;
+            if (paletteIndexOf[id] >= 0) continue;
+            if (paletteSize == palette.length) {
+                throw new GdxRuntimeException("Too many voxel types in one chunk section: " + (paletteSize + 1));
+            }
+            paletteIndexOf[id] = paletteSize;
+            palette[paletteSize++] = VoxelType.fromId(id);
+        }
+        if (paletteSize == 1) return new ChunkSection(palette[0]);
+
+        ChunkSection section = new ChunkSection(null);
+        int bits = 1;
+        while (1 << bits < paletteSize) bits *= 2;
+        section.bits = bits;
+        section.paletteSize = paletteSize;
+        section.palette = Arrays.copyOf(palette, Math.max(2, paletteSize));
+        section.data = new long[VOLUME * bits / 64];
+
+        // Ein long nach dem anderen füllen statt jeden Index einzeln zu schreiben
+        int perLong = 64 / bits;
+        int i = offset;
+        for (int w = 0; w < section.data.length; w++) {
+            long word = 0;
+            for (int n = 0; n < perLong; n++) {
+                word |= (long) paletteIndexOf[ids[i++] & 0xFF] << (n * bits);
+            }
+            section.data[w] = word;
+        }
+        return section;
+    }
+
+    /**
+     * Erstellt eine unabhängige Kopie des Abschnitts. Palette und gepackte Indizes werden nur kopiert, nicht entpackt.
+     *
+     * @return Die Kopie.
+     */
+    public ChunkSection copy() {
+        ChunkSection copy = new ChunkSection(uniform);
+        if (uniform == null) {
+            copy.bits = bits;
+            copy.paletteSize = paletteSize;
+            copy.palette = palette.clone();
+            copy.data = data.clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Schreibt den Abschnitt in kompakter Form: Bitbreite, Palette und gepackte Indizes.
+     *
+     * @param out Der Ausgabestrom.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeByte(bits);
+        if (uniform != null) {
+            out.writeByte(uniform.getId());
+            return;
+        }
+        out.writeByte(paletteSize);
+        for (int p = 0; p < paletteSize; p++) {
+            out.writeByte(palette[p].getId());
+        }
+        for (long word : data) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Gibt an, ob alle Voxel des Abschnitts vom gleichen Typ sind.
+     *
+     * @return True, wenn der Abschnitt einheitlich ist.
+     */
+    public boolean isUniform() {
+        return uniform != null;
+    }
+
+    /**
+     * Gibt den Typ eines einheitlichen Abschnitts zurück.
+     *
+     * @return Der Voxeltyp oder {@code null}, wenn der Abschnitt nicht einheitlich ist.
+     */
+    public VoxelType getUniformType() {
+        return uniform;
+    }
+
+    /**
+     * Gibt die aktuelle Bitbreite pro Voxel zurück.
+     *
+     * @return 0 für einheitliche Abschnitte, sonst 1, 2 oder 4.
+     */
+    public int getBitsPerVoxel() {
+        return bits;
+    }
+
+    /**
+     * Gibt den Voxeltyp an einem Index innerhalb des Abschnitts zurück.
+     *
+     * @param index Der Index, {@code (y * DEPTH + z) * WIDTH + x} mit lokalem y.
+     * @return Der Voxeltyp.
+     */
+    public VoxelType get(int index) {
+        if (uniform != null) return uniform;
+        return palette[paletteIndex(index)];
+    }
+
+    /**
+     * Setzt den Voxeltyp an einem Index innerhalb des Abschnitts.
+     * Ein einheitlicher Abschnitt wird dabei bei Bedarf in einen Paletten-Abschnitt umgewandelt.
+     *
+     * @param index Der Index innerhalb des Abschnitts.
+     * @param type Der neue Voxeltyp.
+     */
+    public void set(int index, VoxelType type) {
+        if (uniform != null) {
+            if (uniform == type) return;
+            // Einheitlich -> Palette mit 1 Bit, alle Einträge zeigen auf den bisherigen Typ (Index 0)
+            palette = new VoxelType[2];
+            palette[0] = uniform;
+            paletteSize = 1;
+            bits = 1;
+            data = new long[VOLUME / 64];
+            uniform = null;
+        }
+
+        int paletteIdx = indexOf(type);
+        if (paletteIdx < 0) {
+            if (paletteSize == 1 << bits) resize(bits * 2);
+            if (paletteSize == palette.length) palette = Arrays.copyOf(palette, palette.length * 2);
+            paletteIdx = paletteSize;
+            palette[paletteSize++] = type;
+        }
+        writeIndex(index, paletteIdx);
+    }
+
+    /**
+     * Kopiert die Voxel-IDs des Abschnitts in ein Array.
+     *
+     * @param dst Das Ziel-Array.
+     * @param offset Der Startindex im Ziel-Array.
+     */
+    public void copyIds(byte[] dst, int offset) {
+        if (uniform != null) {
+            Arrays.fill(dst, offset, offset + VOLUME, uniform.getId());
+            return;
+        }
+        // Direkt aus der Palette entpacken, ohne Hilfs-Array, weil das bei jedem Snapshot und jeder Höhenkarte läuft
+        VoxelType[] palette = this.palette;
+        int perLong = 64 / bits;
+        long mask = (1L << bits) - 1;
+        int i = offset;
+        for (long word : data) {
+            for (int n = 0; n < perLong; n++) {
+                dst[i++] = palette[(int) (word & mask)].getId();
+                word >>>= bits;
+            }
+        }
+    }
+
+    private int indexOf(VoxelType type) {
+        for (int p = 0; p < paletteSize; p++) {
+            if (palette[p] == type) return p;
+        }
+        return -1;
+    }
+
+    private int paletteIndex(int index) {
+        return readIndex(data, bits, index);
+    }
+
+    private static int readIndex(long[] data, int bits, int index) {
+        int perLong = 64 / bits;
+        int shift = (index % perLong) * bits;
+        return (int) ((data[index / perLong] >>> shift) & ((1L << bits) - 1));
+    }
+
+    private void writeIndex(int index, int value) {
+        int perLong = 64 / bits;
+        int shift = (index % perLong) * bits;
+        long mask = ((1L << bits) - 1) << shift;
+        int word = index / perLong;
+        data[word] = (data[word] & ~mask) | ((long) value << shift);
+    }
+
+    /**
+     * Packt alle Indizes mit einer neuen Bitbreite neu.
+     *
+     * @param newBits Die neue Bitbreite.
+     */
+    private void resize(int newBits) {
+        if (newBits > MAX_BITS) {
+            throw new GdxRuntimeException("Too many voxel types in one chunk section: " + (paletteSize + 1));
+        }
+        data = repack(data, bits, newBits);
+        bits = newBits;
+    }
+
+    /**
+     * Liest alle Indizes aus {@code oldData} und packt sie mit einer neuen Bitbreite, ein long nach dem anderen.
+     *
+     * @return Die neu gepackten Indizes.
+     */
+    private static long[] repack(long[] oldData, int oldBits, int newBits) {
+        long[] newData = new long[VOLUME * newBits / 64];
+        int oldPerLong = 64 / oldBits, newPerLong = 64 / newBits;
+        long oldMask = (1L << oldBits) - 1;
+        int w = 0, n = 0;
+        long word = 0;
+        for (long old : oldData) {
+            for (int k = 0; k < oldPerLong; k++) {
+                int value = (int) (old & oldMask);
+                old >>>= oldBits;
+                word |= (long) value << (n * newBits);
+                if (++n == newPerLong) {
+                    newData[w++] = word;
+                    word = 0;
+                    n = 0;
+                }
+            }
+        }
+        return newData;
+    }
+}
@@ -0,0 +1,178 @@
+package net.fynn.javavoxelengine.chunk;
+
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.Arrays;
+
+/**
+ * Eine Kopie der Voxeldaten eines Chunks, die ohne Synchronisation von einem Mesh-Worker gelesen werden kann.
+ * Der Render-Thread füllt den Snapshot, danach wird er nur noch gelesen.
+ * <p>
+ * Neben dem Chunk selbst enthält der Snapshot die angrenzenden Schichten der vier Nachbarn, damit
+ * der Mesher Seiten an den Chunk-Grenzen weglassen kann, die von einem Nachbarblock verdeckt sind.
+ * <p>
+ * Für die Detailstufen kann ein Snapshot auch eine verkleinerte Kopie eines anderen sein
+ * ({@link #downsample(ChunkSnapshot, int)}), dann steht jede Zelle für {@link #scale}³ Blöcke.
+ */
+public class ChunkSnapshot {
+    /**
+     * Die Voxel-IDs, Index wie {@link Chunk#index(int, int, int)}. Bei einem verkleinerten Snapshot sind nur die
+     * ersten {@code sizeX * sizeY * sizeZ} Einträge gültig, Index {@code (y * sizeZ + z) * sizeX + x}.
+     */
+    public final byte[] ids = new byte[Chunk.VOLUME];
+
+    /** Wie viele Blöcke eine Zelle pro Achse umfasst, 1 für einen normalen Snapshot. */
+    public int scale = 1;
+
+    /** Die Anzahl der Zellen pro Achse. */
+    public int sizeX = Chunk.WIDTH, sizeY = Chunk.HEIGHT, sizeZ = Chunk.DEPTH;
+
+    /** Pro Abschnitt der einheitliche Voxeltyp oder {@code null}, wenn der Abschnitt gemischt ist. */
+    public final VoxelType[] sectionTypes = new VoxelType[Chunk.SECTION_COUNT];
+
+    /** Die Ursprungskoordinaten des kopierten Chunks. */
+    public int originX, originY, originZ;
+
+    /**
+     * Steht für alles unterhalb der Welt. Ist keine Luft, damit die Unterseiten bei y = 0 nie erzeugt werden,
+     * denn von dort kann man sie nicht sehen.
+     */
+    private static final byte BELOW_WORLD = -1;
+
+    /**
+     * Die an den Chunk angrenzenden Schichten der Nachbarn, Index der Seite wie {@link Chunk#WEST} usw.
+     * Ist ein Nachbar nicht geladen, besteht seine Schicht aus Luft, die Seiten dort bleiben also sichtbar.
+     */
+    private final byte[][] borders = {
+        new byte[Chunk.HEIGHT * Chunk.DEPTH],
+        new byte[Chunk.HEIGHT * Chunk.DEPTH],
+        new byte[Chunk.HEIGHT * Chunk.WIDTH],
+        new byte[Chunk.HEIGHT * Chunk.WIDTH]
+    };
+
+    /**
+     * Kopiert den aktuellen Zustand eines Chunks in diesen Snapshot.
+     *
+     * @param chunk Der zu kopierende Chunk.
+     */
+    public void set(Chunk chunk) {
+        originX = chunk.originX;
+        originY = chunk.originY;
+        originZ = chunk.originZ;
+        setScale(1);
+        chunk.copyBlockIds(ids);
+        for (int i = 0; i < Chunk.SECTION_COUNT; i++) {
+            sectionTypes[i] = chunk.getSection(i).getUniformType();
+        }
+        for (int side = 0; side < borders.length; side++) {
+            Chunk neighbor = chunk.getNeighbor(side);
+            if (neighbor != null) {
+                neighbor.copyBorderIds(Chunk.opposite(side), borders[side]);
+            } else {
+                Arrays.fill(borders[side], VoxelType.AIR.getId());
+            }
+        }
+    }
+
+    /**
+     * Füllt diesen Snapshot mit einer verkleinerten Kopie eines anderen, für die Detailstufe {@code level}.
+     * Eine Zelle ist fest, wenn mindestens die Hälfte ihrer Blöcke fest ist, und bekommt dann den Typ des
+     * obersten festen Blocks, damit z.B. Wiesen auch aus der Ferne grün bleiben. Die Schichten der Nachbarn
+     * werden genauso verkleinert.
+     *
+     * @param source Ein normaler Snapshot, wird nicht verändert.
+     * @param level Die Detailstufe, jede Zelle umfasst {@code 2^level} Blöcke pro Achse.
+     */
+    public void downsample(ChunkSnapshot source, int level) {
+        originX = source.originX;
+        originY = source.originY;
+        originZ = source.originZ;
+        setScale(1 << level);
+        // Eine Zelle liegt immer ganz in einem Abschnitt, einheitliche Abschnitte bleiben einheitlich
+        System.arraycopy(source.sectionTypes, 0, sectionTypes, 0, Chunk.SECTION_COUNT);
+
+        final byte air = VoxelType.AIR.getId();
+        final int half = (scale * scale * scale + 1) / 2;
+        for (int cy = 0, cell = 0; cy < sizeY; cy++) {
+            VoxelType uniform = sectionTypes[cy * scale / ChunkSection.HEIGHT];
+            for (int cz = 0; cz < sizeZ; cz++) {
+                for (int cx = 0; cx < sizeX; cx++, cell++) {
+                    if (uniform != null) {
+                        ids[cell] = uniform.getId();
+                        continue;
+                    }
+                    byte top = air;
+                    int solid = 0;
+                    for (int y = (cy + 1) * scale - 1; y >= cy * scale; y--) {
+                        for (int z = cz * scale; z < (cz + 1) * scale; z++) {
+                            int i = Chunk.index(cx * scale, y, z);
+                            for (int x = 0; x < scale; x++) {
+                                byte id = source.ids[i + x];
+                                if (id == air) continue;
+                                if (top == air) top = id;
+                                solid++;
+                            }
+                        }
+                    }
+                    ids[cell] = solid >= half ? top : air;
+                }
+            }
+        }
+
+        downsampleBorder(source.borders[Chunk.WEST], borders[Chunk.WEST], Chunk.DEPTH, sizeZ);
+        downsampleBorder(source.borders[Chunk.EAST], borders[Chunk.EAST], Chunk.DEPTH, sizeZ);
+        downsampleBorder(source.borders[Chunk.SOUTH], borders[Chunk.SOUTH], Chunk.WIDTH, sizeX);
+        downsampleBorder(source.borders[Chunk.NORTH], borders[Chunk.NORTH], Chunk.WIDTH, sizeX);
+    }
+
+    /**
+     * Verkleinert eine Nachbarschicht, Index {@code y * width + u}. Für die Seiten zählt nur, ob die Zelle fest ist.
+     */
+    private void downsampleBorder(byte[] source, byte[] target, int width, int cells) {
+        final byte air = VoxelType.AIR.getId();
+        final int half = (scale * scale + 1) / 2;
+        for (int cy = 0; cy < sizeY; cy++) {
+            for (int cu = 0; cu < cells; cu++) {
+                byte any = air;
+                int solid = 0;
+                for (int y = cy * scale; y < (cy + 1) * scale; y++) {
+                    for (int u = cu * scale; u < (cu + 1) * scale; u++) {
+                        byte id = source[y * width + u];
+                        if (id == air) continue;
+                        any = id;
+                        solid++;
+                    }
+                }
+                target[cy * cells + cu] = solid >= half ? any : air;
+            }
+        }
+    }
+
+    private void setScale(int scale) {
+        this.scale = scale;
+        sizeX = Chunk.WIDTH / scale;
+        sizeY = Chunk.HEIGHT / scale;
+        sizeZ = Chunk.DEPTH / scale;
+    }
+
+    /**
+     * Gibt die Voxel-ID direkt ausserhalb des Chunks zurück, neben einem Randvoxel in einer Achsenrichtung.
+     *
+     * @param axis Die Achse (0 = X, 1 = Y, 2 = Z).
+     * @param dir Die Richtung entlang der Achse, +1 oder -1.
+     * @param x Die lokale X-Koordinate des Randvoxels, bei einem verkleinerten Snapshot in Zellen.
+     * @param y Die lokale Y-Koordinate des Randvoxels, bei einem verkleinerten Snapshot in Zellen.
+     * @param z Die lokale Z-Koordinate des Randvoxels, bei einem verkleinerten Snapshot in Zellen.
+     * @return Die ID des Nachbarvoxels; über der Welt Luft, unter der Welt keine Luft.
+     */
+    public byte outsideId(int axis, int dir, int x, int y, int z) {
+        switch (axis) {
+            case 0:
+                return borders[dir < 0 ? Chunk.WEST : Chunk.EAST][y * sizeZ + z];
+            case 2:
+                return borders[dir < 0 ? Chunk.SOUTH : Chunk.NORTH][y * sizeX + x];
+            default:
+                return dir < 0 ? BELOW_WORLD : VoxelType.AIR.getId();
+        }
+    }
+}
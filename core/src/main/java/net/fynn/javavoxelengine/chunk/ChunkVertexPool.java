@@ -0,0 +1,257 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Hält die Vertices aller Chunks in wenigen grossen Vertex-Puffern, den Seiten.
+ * <p>
+ * Jeder Chunk belegt einen zusammenhängenden Bereich von Quads in einer Seite. Freigegebene Bereiche
+ * werden mit ihren Nachbarn zusammengelegt und von späteren Chunks wiederverwendet, so dass beim Laden,
+ * Entladen und Neubauen von Chunks keine OpenGL-Puffer angelegt oder gelöscht werden müssen.
+ * Ein Chunk, der nicht in eine Seite passt, bekommt eine eigene, die mit ihm wieder freigegeben wird.
+ * Auch gemeinsame Seiten werden gelöscht, sobald sie leer sind; nur eine leere Seite bleibt als Reserve.
+ */
+public class ChunkVertexPool implements Disposable {
+    /** Wie viele Quads eine Seite fasst, bei 8 Bytes pro Vertex sind das 2 MiB. */
+    public static final int PAGE_QUADS = 1 << 16;
+
+    /** Anzahl der Floats pro Quad. */
+    private static final int QUAD_FLOATS = 4 * ChunkMeshData.VERTEX_SIZE;
+
+    /** Anzahl der Bytes pro Quad. */
+    static final int QUAD_BYTES = 4 * ChunkMeshData.ATTRIBUTES.vertexSize;
+
+    /**
+     * Der belegte Bereich eines Chunks in einer Seite.
+     */
+    public static final class Slot {
+        Page page;
+        int firstQuad;
+        int quadCount;
+        /** Die Ursprungskoordinaten des Chunks, die Vertices sind lokal. */
+        int originX, originY, originZ;
+
+        /**
+         * Gibt die Anzahl der Quads in diesem Bereich zurück.
+         *
+         * @return Die Anzahl der Quads.
+         */
+        public int getQuadCount() {
+            return quadCount;
+        }
+
+        /**
+         * Gibt die Grösse der Vertices in diesem Bereich zurück.
+         *
+         * @return Die Grösse in Bytes.
+         */
+        public int getBytes() {
+            return quadCount * QUAD_BYTES;
+        }
+    }
+
+    /** Ein Vertex-Puffer mit einer Liste der freien Bereiche, sortiert nach ihrem Anfang. */
+    static final class Page {
+        final int handle;
+        final int capacity;
+        /** Die Seite gehört einem einzelnen zu grossen Chunk und wird mit ihm freigegeben. */
+        final boolean dedicated;
+        final IntArray freeStarts = new IntArray();
+        final IntArray freeLengths = new IntArray();
+
+        Page(int capacity, boolean dedicated) {
+            this.capacity = capacity;
+            this.dedicated = dedicated;
+            handle = Gdx.gl20.glGenBuffer();
+            Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, handle);
+            Gdx.gl20.glBufferData(GL20.GL_ARRAY_BUFFER, capacity * QUAD_BYTES, null, GL20.GL_DYNAMIC_DRAW);
+            freeStarts.add(0);
+            freeLengths.add(capacity);
+        }
+
+        /**
+         * Belegt den ersten freien Bereich, in den {@code quads} passen.
+         *
+         * @return Das erste Quad des Bereichs oder -1, wenn kein Bereich gross genug ist.
+         */
+        int allocate(int quads) {
+            for (int i = 0; i < freeStarts.size; i++) {
+                int length = freeLengths.get(i);
+                if (length < quads) continue;
+
+                int start = freeStarts.get(i);
+                if (length == quads) {
+                    freeStarts.removeIndex(i);
+                    freeLengths.removeIndex(i);
+                } else {
+                    freeStarts.set(i, start + quads);
+                    freeLengths.set(i, length - quads);
+                }
+                return start;
+            }
+            return -1;
+        }
+
+        /**
+         * Gibt einen Bereich frei und legt ihn mit angrenzenden freien Bereichen zusammen.
+         */
+        void free(int start, int quads) {
+            int i = 0;
+            while (i < freeStarts.size && freeStarts.get(i) < start) i++;
+
+            boolean mergeBefore = i > 0 && freeStarts.get(i - 1) + freeLengths.get(i - 1) == start;
+            boolean mergeAfter = i < freeStarts.size && start + quads == freeStarts.get(i);
+            if (mergeBefore && mergeAfter) {
+                freeLengths.incr(i - 1, quads + freeLengths.get(i));
+                freeStarts.removeIndex(i);
+                freeLengths.removeIndex(i);
+            } else if (mergeBefore) {
+                freeLengths.incr(i - 1, quads);
+            } else if (mergeAfter) {
+                freeStarts.set(i, start);
+                freeLengths.incr(i, quads);
+            } else {
+                freeStarts.insert(i, start);
+                freeLengths.insert(i, quads);
+            }
+        }
+
+        boolean isEmpty() {
+            return freeStarts.size == 1 && freeLengths.first() == capacity;
+        }
+    }
+
+    private final Array<Page> pages = new Array<>();
+
+    /** Die Grösse aller Seiten zusammen in Bytes, mit ihrem freien Platz. */
+    private long allocatedBytes;
+
+    /** Wie viele gemeinsame Seiten gerade leer sind, 0 oder 1. */
+    private int emptySharedPages;
+
+    /** Zwischenpuffer für den Upload, wächst bei Bedarf. */
+    private FloatBuffer staging = BufferUtils.newFloatBuffer(QUAD_FLOATS * 4096);
+
+    /**
+     * Lädt die Geometrie eines Chunks in einen freien Bereich hoch. Braucht einen OpenGL-Kontext.
+     * Die Vertices aller Parts liegen danach hintereinander im selben Bereich.
+     *
+     * @param data Die fertige Geometrie, kann danach wiederverwendet werden.
+     * @return Der belegte Bereich oder {@code null}, wenn die Geometrie leer ist.
+     */
+    public Slot upload(ChunkMeshData data) {
+        int quads = data.getQuadCount();
+        if (quads == 0) return null;
+
+        Slot slot = new Slot();
+        allocate(slot, quads);
+        slot.originX = data.originX;
+        slot.originY = data.originY;
+        slot.originZ = data.originZ;
+
+        int floats = quads * QUAD_FLOATS;
+        if (staging.capacity() < floats) {
+            staging = BufferUtils.newFloatBuffer(Math.max(floats, staging.capacity() * 2));
+        }
+        staging.clear();
+        for (ChunkMeshData.Part part : data.getParts()) {
+            staging.put(part.getVertices(), 0, part.getVertexCount() * ChunkMeshData.VERTEX_SIZE);
+        }
+        staging.flip();
+
+        Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, slot.page.handle);
+        Gdx.gl20.glBufferSubData(GL20.GL_ARRAY_BUFFER, slot.firstQuad * QUAD_BYTES, floats * 4, staging);
+        Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+        return slot;
+    }
+
+    private void allocate(Slot slot, int quads) {
+        if (quads > PAGE_QUADS) {
+            slot.page = newPage(quads, true);
+            slot.firstQuad = slot.page.allocate(quads);
+        } else {
+            slot.firstQuad = -1;
+            for (int i = 0; i < pages.size && slot.firstQuad < 0; i++) {
+                Page page = pages.get(i);
+                if (page.dedicated) continue;
+                boolean wasEmpty = page.isEmpty();
+                slot.page = page;
+                slot.firstQuad = page.allocate(quads);
+                if (wasEmpty && slot.firstQuad >= 0) emptySharedPages--;
+            }
+            if (slot.firstQuad < 0) {
+                slot.page = newPage(PAGE_QUADS, false);
+                slot.firstQuad = slot.page.allocate(quads);
+            }
+        }
+        slot.quadCount = quads;
+    }
+
+    private Page newPage(int capacity, boolean dedicated) {
+        Page page = new Page(capacity, dedicated);
+        pages.add(page);
+        allocatedBytes += (long) capacity * QUAD_BYTES;
+        return page;
+    }
+
+    /**
+     * Gibt den Bereich eines Chunks wieder frei. Wird seine Seite dadurch leer, wird sie gelöscht,
+     * ausser es ist die erste leere gemeinsame Seite.
+     *
+     * @param slot Der Bereich, darf danach nicht mehr benutzt werden.
+     */
+    public void free(Slot slot) {
+        Page page = slot.page;
+        if (page == null) return;
+        page.free(slot.firstQuad, slot.quadCount);
+        slot.page = null;
+        if (!page.isEmpty()) return;
+
+        if (page.dedicated || emptySharedPages > 0) {
+            pages.removeValue(page, true);
+            allocatedBytes -= (long) page.capacity * QUAD_BYTES;
+            Gdx.gl20.glDeleteBuffer(page.handle);
+        } else {
+            // Als Reserve behalten, damit ein Neubau direkt nach dem Freigeben keinen Puffer anlegen muss
+            emptySharedPages++;
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der angelegten Vertex-Puffer zurück.
+     *
+     * @return Die Anzahl der Seiten.
+     */
+    public int getPageCount() {
+        return pages.size;
+    }
+
+    /**
+     * Gibt die Grösse aller Vertex-Puffer zusammen zurück, mit ihrem freien Platz und der leeren Reserve.
+     *
+     * @return Die Grösse in Bytes.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Löscht alle Vertex-Puffer. Alle ausgegebenen Bereiche werden damit ungültig.
+     */
+    @Override
+    public void dispose() {
+        for (Page page : pages) {
+            Gdx.gl20.glDeleteBuffer(page.handle);
+        }
+        pages.clear();
+        allocatedBytes = 0;
+        emptySharedPages = 0;
+    }
+}
@@ -0,0 +1,44 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.math.Vector3;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+/**
+ * Das Ergebnis von {@link VoxelRaycaster#cast}: der getroffene Block und wo der Strahl in ihn eintritt.
+ * Ein Objekt wird für viele Strahlen wiederverwendet, gültig ist es nur nach einem Treffer.
+ */
+public class RaycastHit {
+    /** Die Welt-Koordinaten des getroffenen Blocks. */
+    public int x, y, z;
+
+    /**
+     * Die Normale der getroffenen Seite, zeigt zum Strahl zurück. Der Block davor, z.B. zum Setzen,
+     * liegt bei {@code x + normalX} usw. Alles 0, wenn der Strahl schon im getroffenen Block beginnt.
+     */
+    public int normalX, normalY, normalZ;
+
+    /** Die Entfernung vom Ursprung bis zum Eintritt in den Block, in Blöcken. */
+    public float distance;
+
+    /** Der Punkt, an dem der Strahl in den Block eintritt. */
+    public final Vector3 position = new Vector3();
+
+    /** Der Voxeltyp des getroffenen Blocks. */
+    public VoxelType type;
+
+    /**
+     * Gibt an, ob der Strahl schon im getroffenen Block beginnt und es daher keine Seite gibt.
+     *
+     * @return True, wenn die Normale 0 ist.
+     */
+    public boolean isInside() {
+        return normalX == 0 && normalY == 0 && normalZ == 0;
+    }
+
+    @Override
+    public String toString() {
+        return type + " at " + x + " " + y + " " + z
+            + ", face " + normalX + " " + normalY + " " + normalZ
+            + String.format(", distance %.2f", distance);
+    }
+}
@@ -0,0 +1,121 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.function.Predicate;
+
+/**
+ * Verfolgt einen Strahl durch die Blöcke eines {@link ChunkGrid}, nach Amanatides und Woo
+ * ("A Fast Voxel Traversal Algorithm for Ray Tracing").
+ * <p>
+ * Statt in festen Schritten am Strahl entlang zu gehen, springt die Suche immer zur nächsten Blockgrenze,
+ * die der Strahl kreuzt. So wird jeder Block auf dem Strahl genau einmal besucht, auch wenn der Strahl
+ * nur eine Ecke streift, und die Seite, durch die er eintritt, fällt nebenbei ab.
+ * Der Chunk wird nur neu gesucht, wenn der Strahl eine Chunk-Grenze kreuzt. Es werden keine Objekte angelegt,
+ * das Ergebnis landet in einem {@link RaycastHit} des Aufrufers.
+ */
+public class VoxelRaycaster {
+    /** Ein Filter, der jeden Block trifft, der keine Luft ist. */
+    public static final Predicate<VoxelType> ANY_BLOCK = type -> true;
+
+    private VoxelRaycaster() {
+    }
+
+    /**
+     * Sucht den ersten Block auf dem Strahl, der den Filter erfüllt. Luft wird nie getroffen, Blöcke,
+     * die der Filter ablehnt, werden durchquert. Nicht geladene Chunks zählen als Luft.
+     *
+     * @param grid Die Welt.
+     * @param origin Der Ursprung des Strahls in Welt-Koordinaten.
+     * @param direction Die Richtung des Strahls, muss nicht normiert sein.
+     * @param maxDistance Die grösste Entfernung in Blöcken, in der noch getroffen wird.
+     * @param filter Welche Voxeltypen getroffen werden, z.B. {@link #ANY_BLOCK}.
+     * @param hit Das Ziel, wird nur bei einem Treffer geschrieben.
+     * @return True, wenn ein Block getroffen wurde.
+     */
+    public static boolean cast(ChunkGrid grid, Vector3 origin, Vector3 direction, float maxDistance,
+                               Predicate<VoxelType> filter, RaycastHit hit) {
+        float length = direction.len();
+        if (length == 0f) return false;
+        float dx = direction.x / length, dy = direction.y / length, dz = direction.z / length;
+
+        int x = MathUtils.floor(origin.x), y = MathUtils.floor(origin.y), z = MathUtils.floor(origin.z);
+        int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+        int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+        int stepZ = dz > 0 ? 1 : dz < 0 ? -1 : 0;
+
+        // Wie weit man auf dem Strahl für einen ganzen Block je Achse gehen muss,
+        // und wo die nächste Grenze je Achse gekreuzt wird
+        float deltaX = stepX != 0 ? Math.abs(1f / dx) : Float.POSITIVE_INFINITY;
+        float deltaY = stepY != 0 ? Math.abs(1f / dy) : Float.POSITIVE_INFINITY;
+        float deltaZ = stepZ != 0 ? Math.abs(1f / dz) : Float.POSITIVE_INFINITY;
+        float maxX = boundary(origin.x, x, stepX, deltaX);
+        float maxY = boundary(origin.y, y, stepY, deltaY);
+        float maxZ = boundary(origin.z, z, stepZ, deltaZ);
+
+        int normalX = 0, normalY = 0, normalZ = 0;
+        float t = 0f;
+        int chunkX = Math.floorDiv(x, Chunk.WIDTH), chunkZ = Math.floorDiv(z, Chunk.DEPTH);
+        Chunk chunk = grid.getChunk(chunkX, chunkZ);
+
+        while (true) {
+            if (y >= 0 && y < Chunk.HEIGHT && chunk != null) {
+                VoxelType type = chunk.getBlock(x - chunk.originX, y, z - chunk.originZ);
+                if (type != VoxelType.AIR && filter.test(type)) {
+                    hit.x = x;
+                    hit.y = y;
+                    hit.z = z;
+                    hit.normalX = normalX;
+                    hit.normalY = normalY;
+                    hit.normalZ = normalZ;
+                    hit.distance = t;
+                    hit.position.set(origin.x + dx * t, origin.y + dy * t, origin.z + dz * t);
+                    hit.type = type;
+                    return true;
+                }
+            }
+
+            // Zur nächsten Grenze, die Achse mit dem kleinsten Abstand gewinnt
+            if (maxX < maxY && maxX < maxZ) {
+                t = maxX;
+                x += stepX;
+                maxX += deltaX;
+                normalX = -stepX;
+                normalY = normalZ = 0;
+            } else if (maxY < maxZ) {
+                t = maxY;
+                y += stepY;
+                maxY += deltaY;
+                normalY = -stepY;
+                normalX = normalZ = 0;
+            } else {
+                t = maxZ;
+                z += stepZ;
+                maxZ += deltaZ;
+                normalZ = -stepZ;
+                normalX = normalY = 0;
+            }
+            if (t > maxDistance) return false;
+            // Über oder unter der Welt kommt nichts mehr
+            if (y < 0 && stepY <= 0 || y >= Chunk.HEIGHT && stepY >= 0) return false;
+
+            int newChunkX = Math.floorDiv(x, Chunk.WIDTH), newChunkZ = Math.floorDiv(z, Chunk.DEPTH);
+            if (newChunkX != chunkX || newChunkZ != chunkZ) {
+                chunkX = newChunkX;
+                chunkZ = newChunkZ;
+                chunk = grid.getChunk(chunkX, chunkZ);
+            }
+        }
+    }
+
+    /**
+     * Gibt zurück, wie weit man auf dem Strahl bis zur ersten Blockgrenze einer Achse gehen muss.
+     */
+    private static float boundary(float origin, int block, int step, float delta) {
+        if (step > 0) return (block + 1 - origin) * delta;
+        if (step < 0) return (origin - block) * delta;
+        return Float.POSITIVE_INFINITY;
+    }
+}
@@ -3,7 +3,6 @@ package net.fynn.javavoxelengine.gui;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Graphics;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.math.collision.Ray;
 import imgui.ImGui;
 import imgui.ImGuiIO;
 import imgui.flag.ImGuiCond;
@@ -12,10 +11,14 @@ import imgui.flag.ImGuiWindowFlags;
 import imgui.gl3.ImGuiImplGl3;
 import imgui.glfw.ImGuiImplGlfw;
 import imgui.type.ImBoolean;
+import net.fynn.javavoxelengine.RenderSettings;
 import net.fynn.javavoxelengine.challenge.ChallengeManager;
 import net.fynn.javavoxelengine.challenge.ChallengeType;
 import net.fynn.javavoxelengine.chunk.Chunk;
 import net.fynn.javavoxelengine.chunk.ChunkGrid;
+import net.fynn.javavoxelengine.chunk.ChunkMesher;
+import net.fynn.javavoxelengine.chunk.RaycastHit;
+import net.fynn.javavoxelengine.chunk.VoxelRaycaster;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.opengl.GL;
 import com.badlogic.gdx.graphics.Camera;
@@ -34,6 +37,15 @@ public class ThisImGui {
     private final ImBoolean showWinWindow = new ImBoolean(false);
     private final ImBoolean showLossWindow = new ImBoolean(false);
 
+    // Werte der Optionen, werden jeden Frame aus den RenderSettings übernommen
+    private final float[] renderDistance = new float[1];
+    private final ImBoolean autoRenderDistance = new ImBoolean(false);
+    private final int[] targetFps = new int[1];
+
+    // Der Block unter dem Fadenkreuz im Debug-Fenster
+    private static final float DEBUG_RAY_DISTANCE = 64f;
+    private final RaycastHit debugHit = new RaycastHit();
+
     /**
      * Die ImGui funktion die das Fenster erstellt
      */
@@ -57,14 +69,15 @@ public class ThisImGui {
         imGuiGl3.init("#version 110");
     }
 
-    public void render(Camera camera, int renderedModelCount, ChallengeManager challengeManager, ChunkGrid chunkGrid) {
+    public void render(Camera camera, int renderedChunkCount, int drawCalls, ChallengeManager challengeManager,
+                       ChunkGrid chunkGrid, RenderSettings renderSettings) {
         imGuiGlfw.newFrame();
         ImGui.newFrame();
 
-        renderMainTabBar();
+        renderMainTabBar(renderSettings);
         renderDemoWindow();
-        renderOptionsWindow();
-        renderDebugWindow(camera, renderedModelCount, chunkGrid);
+        renderOptionsWindow(renderSettings);
+        renderDebugWindow(camera, renderedChunkCount, drawCalls, chunkGrid);
         renderChallengeWindow(challengeManager); // New challenge window
         if (challengeManager.hasPlayerWon()) {
             showWinWindow.set(true);
@@ -79,7 +92,7 @@ public class ThisImGui {
         imGuiGl3.renderDrawData(ImGui.getDrawData());
     }
 
-    private void renderMainTabBar() {
+    private void renderMainTabBar(RenderSettings renderSettings) {
         ImGui.setNextWindowSize(200, 300);
         ImGui.setNextWindowPos(0, 0);
         ImGui.begin("UI Controls", ImGuiWindowFlags.NoCollapse);
@@ -92,7 +105,7 @@ public class ThisImGui {
                 ImGui.endTabItem();
             }
             if (ImGui.beginTabItem("Options")) {
-                ImGui.text("TODO: RENDER DISTANCE");
+                renderRenderSettings(renderSettings);
                 ImGui.endTabItem();
             }
             ImGui.endTabBar();
@@ -106,14 +119,37 @@ public class ThisImGui {
         }
     }
 
-    private void renderOptionsWindow() {
+    private void renderOptionsWindow(RenderSettings renderSettings) {
         if (!showOptionsWindow.get()) return;
         ImGui.begin("Options", showOptionsWindow, ImGuiWindowFlags.None);
         ImGui.text("Graphics Options");
-        ImGui.text("TODO: RENDER DISTANCE");
+        renderRenderSettings(renderSettings);
         ImGui.end();
     }
 
+    /**
+     * Die Regler für die Sichtweite, im Options-Fenster und im Options-Tab gleich
+     */
+    private void renderRenderSettings(RenderSettings renderSettings) {
+        renderDistance[0] = renderSettings.getRenderDistance();
+        if (ImGui.sliderFloat("Render Distance", renderDistance,
+            RenderSettings.MIN_RENDER_DISTANCE, RenderSettings.MAX_RENDER_DISTANCE)) {
+            renderSettings.setRenderDistance(renderDistance[0]);
+        }
+
+        autoRenderDistance.set(renderSettings.isAutoRenderDistance());
+        if (ImGui.checkbox("Auto Render Distance", autoRenderDistance)) {
+            renderSettings.setAutoRenderDistance(autoRenderDistance.get());
+        }
+        if (renderSettings.isAutoRenderDistance()) {
+            targetFps[0] = renderSettings.getTargetFps();
+            if (ImGui.sliderInt("Target FPS", targetFps, 30, 240)) {
+                renderSettings.setTargetFps(targetFps[0]);
+            }
+            ImGui.text(String.format("Frame Time: %.1f ms", renderSettings.getAverageFrameTime() * 1000f));
+        }
+    }
+
     private void renderWinWindow(ChallengeManager challengeManager) {
         if(!showWinWindow.get()) return;
         ImGui.begin("YOU WIN!", showWinWindow, ImGuiWindowFlags.None);
@@ -142,7 +178,7 @@ public class ThisImGui {
         ImGui.end();
     }
 
-    private void renderDebugWindow(Camera camera, int renderedModelCount, ChunkGrid chunkGrid) {
+    private void renderDebugWindow(Camera camera, int renderedChunkCount, int drawCalls, ChunkGrid chunkGrid) {
         if (!showDebugWindow.get()) return;
         ImGui.setNextWindowPos(0, Gdx.graphics.getHeight() - 200, ImGuiCond.Always);
         ImGui.setNextWindowSize(Gdx.graphics.getWidth(), 200, ImGuiCond.Always);
@@ -150,22 +186,29 @@ public class ThisImGui {
             ImGuiWindowFlags.NoCollapse | ImGuiWindowFlags.NoTitleBar);
 
         ImGui.text("FPS: " + Gdx.graphics.getFramesPerSecond());
-        ImGui.text("Rendered Model Instances: " + renderedModelCount);
+        ImGui.text("Rendered Chunks: " + renderedChunkCount + " (" + drawCalls + " draw calls)");
+        ImGui.text("Loaded Chunks: " + chunkGrid.getChunks().size + " (" + chunkGrid.getOccludedChunkCount() + " occluded)");
+        ImGui.text(String.format("Chunk Meshes: %.1f in %.1f / %d MiB (hits %d, misses %d, evictions %d)",
+            ChunkMesher.getResidentBytes() / (1024f * 1024f), ChunkMesher.getAllocatedBytes() / (1024f * 1024f),
+            ChunkMesher.getMemoryBudget() >> 20,
+            ChunkMesher.getHits(), ChunkMesher.getMisses(), ChunkMesher.getEvictions()));
+        if (!chunkGrid.isGenerationComplete()) {
+            ImGui.text(String.format("Loading chunks: %.0f%%", chunkGrid.getGenerationProgress() * 100f));
+        }
         ImGui.text(String.format(
             "Camera Position: X=%.2f, Y=%.2f, Z=%.2f",
             camera.position.x, camera.position.y, camera.position.z));
 
 
         Chunk currChunk = chunkGrid.getChunkAtWorld(camera.position.x, camera.position.z);
-        ImGui.text("Current Chunk: "+currChunk.originX+" "+currChunk.originZ);
+        if (currChunk != null) {
+            ImGui.text("Current Chunk: "+currChunk.originX+" "+currChunk.originZ);
+        }
         ImGui.text("Chunk Local Coords "+chunkGrid.getChunkLocalCoords(camera.position));
 
 
         ImGui.text("Camera Direction: "+camera.direction);
 
-        Ray ray = camera.getPickRay(Gdx.graphics.getWidth() / 2f, Gdx.graphics.getHeight() / 2f);
-        ImGui.text("Ray: "+ray);
-
         Vector3 localCoords = chunkGrid.getChunkLocalCoords(camera.position);
 
         int localX = (int)Math.floor(localCoords.x);
@@ -174,21 +217,17 @@ public class ThisImGui {
 
         ImGui.text("locals: "+localX+" "+localY+" "+localZ);
 
-        Vector3 end = new Vector3();
-        ray.getEndPoint(end, 1.0f);
-        ImGui.text("endpoint: "+end);
-
+        int columnX = (int)Math.floor(camera.position.x);
+        int columnZ = (int)Math.floor(camera.position.z);
+        ImGui.text("Ground: "+chunkGrid.getSolidHeight(columnX, columnZ)
+            +" Surface: "+chunkGrid.getSurfaceHeight(columnX, columnZ));
 
-        Chunk currChunkEp = chunkGrid.getChunkAtWorld(end.x, end.z);
-        ImGui.text("Current Chunk: "+currChunkEp.originX+" "+currChunkEp.originZ);
-
-        Vector3 localCoordsEp = chunkGrid.getChunkLocalCoords(end);
-
-        int localXep = (int)Math.floor(localCoordsEp.x);
-        int localYep = (int)Math.floor(localCoordsEp.y);
-        int localZep = (int)Math.floor(localCoordsEp.z);
-
-        ImGui.text("locals: "+localXep+" "+localYep+" "+localZep);
+        if (VoxelRaycaster.cast(chunkGrid, camera.position, camera.direction, DEBUG_RAY_DISTANCE,
+            VoxelRaycaster.ANY_BLOCK, debugHit)) {
+            ImGui.text("Target: "+debugHit);
+        } else {
+            ImGui.text("Target: none");
+        }
 
         ImGui.end();
     }
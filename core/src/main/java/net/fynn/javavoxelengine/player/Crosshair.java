@@ -5,14 +5,12 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 
 public class Crosshair {
 
-    private ShapeRenderer shapeRenderer;
+    private final ShapeRenderer shapeRenderer = new ShapeRenderer();
 
     /**
      * Zeichnet ein kleines Rechteck in der Mitte des Bildschirms mithilfe eines ShapeRenderers
      */
     public void render() {
-        shapeRenderer = new ShapeRenderer();
-
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
 
         float centerX = Gdx.graphics.getWidth() / 2f;
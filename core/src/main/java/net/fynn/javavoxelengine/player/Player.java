@@ -7,6 +7,8 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
 import net.fynn.javavoxelengine.chunk.Chunk;
 import net.fynn.javavoxelengine.chunk.ChunkGrid;
+import net.fynn.javavoxelengine.chunk.RaycastHit;
+import net.fynn.javavoxelengine.chunk.VoxelRaycaster;
 import net.fynn.javavoxelengine.voxel.VoxelType;
 
 public class Player {
@@ -17,32 +19,69 @@ public class Player {
     private float pitch = 0f;
     private final float mouseSensitivity = 0.1f;
 
-    // physics
-    private float vy = 0f;
+    // physics, läuft in festen Schritten unabhängig von der Bildrate
+    private static final float TICK        = 1f / 60f;
+    private static final int MAX_TICKS     = 5;
     private static final float GRAVITY     = -30f;
-    private static final float EYE_HEIGHT  = 2.5f;
+    private static final float MAX_FALL    = 50f;
     private static final float JUMP_POWER  = 12f;
-
+    private static final float WALK_SPEED  = 5f;
+    private static final float ACCELERATION = 15f;
+
+    // Die Box des Spielers, Position ist die Mitte der Fusssohlen
+    private static final float HALF_WIDTH  = 0.3f;
+    private static final float HEIGHT      = 1.8f;
+    private static final float EYE_HEIGHT  = 1.6f;
+
+    // blocks
+    private static final float REACH = 8f;
+    private static final VoxelType PLACE_TYPE = VoxelType.STONE;
+    private final RaycastHit hit = new RaycastHit();
+
+    private final PlayerCollider collider;
+    private final Vector3 position = new Vector3();
+    private final Vector3 previousPosition = new Vector3();
+    private final Vector3 velocity = new Vector3();
+    private float accumulator;
     private boolean isOnGround = false;
+    private boolean jumpRequested;
+
+    // Hilfsvektoren, damit update() keine neuen Objekte anlegt
+    private final Vector3 forward = new Vector3();
+    private final Vector3 right = new Vector3();
+    private final Vector3 wishDirection = new Vector3();
 
     public Player(ChunkGrid chunkGrid) {
         this.chunkGrid = chunkGrid;
+        this.collider = new PlayerCollider(chunkGrid, HALF_WIDTH, HEIGHT);
 
         camera = new PerspectiveCamera(80,
             Gdx.graphics.getWidth(),
             Gdx.graphics.getHeight());
-        camera.position.set(0f, 50f, 0f);
         camera.near = 0.1f;
         camera.far = 500f;
-        camera.update();
+        setPosition(0f, 50f, 0f);
 
         Gdx.input.setCursorCatched(true); // lock/hide mouse for FPS style
         Gdx.input.setInputProcessor(null); // disable built-in controller
     }
 
-    public void update(float delta) {
-        Vector3 oldPos = new Vector3(camera.position);
+    /**
+     * Setzt den Spieler an eine Position, ohne Bewegung dazwischen.
+     *
+     * @param x Die X-Koordinate der Füsse.
+     * @param y Die Y-Koordinate der Füsse.
+     * @param z Die Z-Koordinate der Füsse.
+     */
+    public void setPosition(float x, float y, float z) {
+        position.set(x, y, z);
+        previousPosition.set(position);
+        velocity.setZero();
+        camera.position.set(x, y + EYE_HEIGHT, z);
+        camera.update();
+    }
 
+    public void update(float delta) {
         // === Mouse look ===
         float deltaX = -Gdx.input.getDeltaX() * mouseSensitivity;
         float deltaY = -Gdx.input.getDeltaY() * mouseSensitivity;
@@ -54,90 +93,113 @@ public class Player {
         pitch = MathUtils.clamp(pitch, -89f, 89f);
 
         // Recalculate direction vector
-        Vector3 direction = new Vector3(
+        camera.direction.set(
             MathUtils.cosDeg(pitch) * MathUtils.sinDeg(yaw),
             MathUtils.sinDeg(pitch),
             MathUtils.cosDeg(pitch) * MathUtils.cosDeg(yaw)
         ).nor();
-        camera.direction.set(direction);
-
-        // === Movement ===
-        Vector3 forward = new Vector3(camera.direction.x, 0f, camera.direction.z).nor();
-        Vector3 right = new Vector3(forward.z, 0f, -forward.x).nor();
-
-        float moveSpeed = 20f;
-        if (Gdx.input.isKeyPressed(Input.Keys.W)) camera.position.add(forward.scl(moveSpeed * delta));
-        if (Gdx.input.isKeyPressed(Input.Keys.S)) camera.position.sub(forward.scl(moveSpeed * delta));
-        if (Gdx.input.isKeyPressed(Input.Keys.A)) camera.position.add(right.scl(moveSpeed * delta));
-        if (Gdx.input.isKeyPressed(Input.Keys.D)) camera.position.sub(right.scl(moveSpeed * delta));
-
-        // === Jumping ===
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && isOnGround) {
-            vy = JUMP_POWER;
-            isOnGround = false;
-        }
-
-        // === Gravity & Vertical motion ===
-        vy += GRAVITY * delta;
-        camera.position.y += vy * delta;
 
-        float groundY = findSolidGroundY(camera.position.x, camera.position.z) + EYE_HEIGHT;
-        if (camera.position.y < groundY) {
-            camera.position.y = groundY;
-            vy = 0f;
-            isOnGround = true;
+        // === Movement input, wird von den Physik-Schritten dieses Frames benutzt ===
+        forward.set(camera.direction.x, 0f, camera.direction.z).nor();
+        right.set(forward.z, 0f, -forward.x).nor();
+
+        wishDirection.setZero();
+        if (Gdx.input.isKeyPressed(Input.Keys.W)) wishDirection.add(forward);
+        if (Gdx.input.isKeyPressed(Input.Keys.S)) wishDirection.sub(forward);
+        if (Gdx.input.isKeyPressed(Input.Keys.A)) wishDirection.add(right);
+        if (Gdx.input.isKeyPressed(Input.Keys.D)) wishDirection.sub(right);
+        wishDirection.nor();
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) jumpRequested = true;
+
+        // === Physics in festen Schritten ===
+        accumulator += delta;
+        int ticks = 0;
+        while (accumulator >= TICK) {
+            accumulator -= TICK;
+            if (++ticks > MAX_TICKS) {
+                // Zu weit zurück (z.B. nach einem Ruckler), die restliche Zeit verwerfen
+                accumulator = 0f;
+                break;
+            }
+            tick();
         }
 
-        // === Optional smoothing for XZ movement ===
-        Vector3 targetPos = new Vector3(camera.position);
-        float alpha = MathUtils.clamp(delta * 15f, 0f, 1f);
-        camera.position.x = MathUtils.lerp(oldPos.x, targetPos.x, alpha);
-        camera.position.z = MathUtils.lerp(oldPos.z, targetPos.z, alpha);
+        // Zwischen den letzten beiden Schritten interpolieren, damit die Kamera bei jeder Bildrate flüssig läuft
+        camera.position.set(previousPosition).lerp(position, accumulator / TICK);
+        camera.position.y += EYE_HEIGHT;
 
         // === Update camera ===
         camera.update();
 
         // === Mouse Clicks ===
         if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-            System.out.println("Left click: break block");
+            breakBlock();
         }
         if (Gdx.input.isButtonJustPressed(Input.Buttons.RIGHT)) {
-            System.out.println("Right click: place block");
+            placeBlock();
         }
     }
 
-    public PerspectiveCamera getCamera() {
-        return camera;
-    }
+    /**
+     * Ein fester Physik-Schritt: Geschwindigkeit aus der Eingabe und der Schwerkraft, dann die Bewegung mit Kollision.
+     */
+    private void tick() {
+        previousPosition.set(position);
 
-    private float findSolidGroundY(float worldX, float worldZ) {
-        Chunk c = chunkGrid.getChunkAtWorld((int)worldX, (int)worldZ);
-        if (c == null) return 0f;
-
-        int localX = MathUtils.clamp((int)Math.floor(worldX - c.originX), 0, Chunk.WIDTH - 1);
-        int localZ = MathUtils.clamp((int)Math.floor(worldZ - c.originZ), 0, Chunk.DEPTH - 1);
-
-        int topY = c.getSurfaceHeight(localX, localZ);
-        if (topY < 0) return c.originY;
+        // Solange der eigene Chunk noch nicht geladen ist, bleibt der Spieler stehen, ein Sprung verfällt
+        if (chunkGrid.getChunkAtWorld(position.x, position.z) == null) {
+            jumpRequested = false;
+            return;
+        }
 
-        for (int y = topY; y >= 0; y--) {
-            VoxelType type = c.getBlock(localX, y, localZ);
-            if (isSolid(type)) {
-                return c.originY + y;
+        // Steckt der Spieler in einem Block (beim Start oder wenn das Gelände sich geändert hat), nach oben hinaus
+        if (collider.overlaps(position)) {
+            while (position.y < Chunk.HEIGHT && collider.overlaps(position)) {
+                position.y = MathUtils.floor(position.y) + 1;
             }
+            previousPosition.set(position);
+            velocity.y = 0f;
         }
-        return c.originY;
+
+        float blend = Math.min(1f, ACCELERATION * TICK);
+        velocity.x += (wishDirection.x * WALK_SPEED - velocity.x) * blend;
+        velocity.z += (wishDirection.z * WALK_SPEED - velocity.z) * blend;
+
+        if (jumpRequested && isOnGround) velocity.y = JUMP_POWER;
+        jumpRequested = false;
+
+        velocity.y = Math.max(velocity.y + GRAVITY * TICK, -MAX_FALL);
+        isOnGround = collider.move(position, velocity, TICK);
     }
 
-    private boolean isSolid(VoxelType type) {
-        switch (type) {
-            case AIR:
-            case LEAVES_LIGHT:
-            case LEAVES_DARK:
-            case APPLE:
-                return false;
-            default:
-                return true;
+    /**
+     * Entfernt den Block, auf den der Spieler schaut.
+     */
+    private void breakBlock() {
+        if (!VoxelRaycaster.cast(chunkGrid, camera.position, camera.direction, REACH, VoxelRaycaster.ANY_BLOCK, hit)) return;
+        chunkGrid.setBlock(hit.x, hit.y, hit.z, VoxelType.AIR);
+    }
+
+    /**
+     * Setzt einen Block vor die Seite des Blocks, auf den der Spieler schaut, aber nicht in den Spieler selbst.
+     */
+    private void placeBlock() {
+        if (!VoxelRaycaster.cast(chunkGrid, camera.position, camera.direction, REACH, VoxelRaycaster.ANY_BLOCK, hit)) return;
+        if (hit.isInside()) return;
+
+        int x = hit.x + hit.normalX;
+        int y = hit.y + hit.normalY;
+        int z = hit.z + hit.normalZ;
+        if (x + 1 > position.x - HALF_WIDTH && x < position.x + HALF_WIDTH
+            && y + 1 > position.y && y < position.y + HEIGHT
+            && z + 1 > position.z - HALF_WIDTH && z < position.z + HALF_WIDTH) {
+            return;
         }
+        chunkGrid.setBlock(x, y, z, PLACE_TYPE);
+    }
+
+    public PerspectiveCamera getCamera() {
+        return camera;
     }
 }
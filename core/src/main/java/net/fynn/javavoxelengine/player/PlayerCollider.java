@@ -0,0 +1,188 @@
+package net.fynn.javavoxelengine.player;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.chunk.ChunkGrid;
+
+/**
+ * Bewegt die Box des Spielers (achsenparallel, Position ist die Mitte der Fusssohlen) durch das Voxel-Gitter,
+ * ohne in feste Blöcke einzudringen.
+ * <p>
+ * Die Bewegung wird pro Achse einzeln ausgeführt, zuerst Y, dann X und Z. Auf jeder Achse werden nur die
+ * Blockschichten geprüft, die die vordere Seite der Box auf ihrem Weg neu betritt, der Aufwand hängt also
+ * von der Grösse der Box und der Strecke ab, nicht von der Höhe des Geländes. Weil jede Schicht auf dem Weg
+ * geprüft wird, geht auch eine schnelle Bewegung nie durch eine Wand. Stösst der Spieler am Boden seitlich
+ * an eine Stufe von höchstens {@link #STEP_HEIGHT}, steigt er sie hinauf.
+ * <p>
+ * Unter der Welt und in nicht geladenen Chunks ist alles fest, damit niemand aus der Welt fällt.
+ */
+public class PlayerCollider {
+    /** Wie hoch eine Stufe sein darf, die der Spieler ohne Springen hinaufgeht, in Blöcken. */
+    public static final float STEP_HEIGHT = 1f;
+
+    /** Der Abstand, den die Box zu einem festen Block hält, damit sie ihn nach Rundungsfehlern nicht überlappt. */
+    private static final float EPSILON = 1e-3f;
+
+    private static final int X = 0, Y = 1, Z = 2;
+
+    private final ChunkGrid chunkGrid;
+    private final float halfWidth, height;
+
+    // Die Box während einer Bewegung, pro Achse
+    private final float[] min = new float[3];
+    private final float[] max = new float[3];
+
+    /**
+     * @param chunkGrid Die Welt, in der sich die Box bewegt.
+     * @param halfWidth Die halbe Breite der Box in X und Z.
+     * @param height Die Höhe der Box.
+     */
+    public PlayerCollider(ChunkGrid chunkGrid, float halfWidth, float height) {
+        this.chunkGrid = chunkGrid;
+        this.halfWidth = halfWidth;
+        this.height = height;
+    }
+
+    /**
+     * Bewegt die Box um {@code velocity * delta}. Wird sie auf einer Achse aufgehalten, bleibt sie vor dem Block
+     * stehen und die Geschwindigkeit auf dieser Achse wird 0.
+     *
+     * @param position Die Position der Fusssohlen, wird verschoben.
+     * @param velocity Die Geschwindigkeit in Blöcken pro Sekunde, blockierte Achsen werden auf 0 gesetzt.
+     * @param delta Die Zeit des Schritts in Sekunden.
+     * @return True, wenn die Box nach unten aufgehalten wurde, also auf dem Boden steht.
+     */
+    public boolean move(Vector3 position, Vector3 velocity, float delta) {
+        setBox(position);
+        float wantY = velocity.y * delta;
+        float movedY = sweep(Y, wantY);
+        boolean onGround = wantY < 0 && movedY > wantY;
+        if (movedY != wantY) velocity.y = 0f;
+
+        float wantX = velocity.x * delta;
+        float wantZ = velocity.z * delta;
+        float movedX = sweep(X, wantX);
+        float movedZ = sweep(Z, wantZ);
+
+        if (onGround && (movedX != wantX || movedZ != wantZ)) {
+            // Stufe: von der Ausgangslage aus angehoben noch einmal versuchen und wieder absetzen
+            float baseX = min[X] - movedX, baseZ = min[Z] - movedZ, baseY = min[Y];
+            setBox(baseX + halfWidth, baseY, baseZ + halfWidth);
+            float lift = sweep(Y, STEP_HEIGHT);
+            float stepX = sweep(X, wantX);
+            float stepZ = sweep(Z, wantZ);
+            sweep(Y, -lift);
+            if (Math.abs(stepX) + Math.abs(stepZ) > Math.abs(movedX) + Math.abs(movedZ)) {
+                movedX = stepX;
+                movedZ = stepZ;
+            } else {
+                setBox(baseX + halfWidth + movedX, baseY, baseZ + halfWidth + movedZ);
+            }
+        }
+        if (movedX != wantX) velocity.x = 0f;
+        if (movedZ != wantZ) velocity.z = 0f;
+
+        position.set(min[X] + halfWidth, min[Y], min[Z] + halfWidth);
+        return onGround;
+    }
+
+    /**
+     * Prüft, ob die Box an einer Position einen festen Block überlappt.
+     *
+     * @param position Die Position der Fusssohlen.
+     * @return True, wenn die Box in einem festen Block steckt.
+     */
+    public boolean overlaps(Vector3 position) {
+        setBox(position);
+        int x0 = MathUtils.floor(min[X]), x1 = MathUtils.ceil(max[X]) - 1;
+        int y0 = MathUtils.floor(min[Y]), y1 = MathUtils.ceil(max[Y]) - 1;
+        int z0 = MathUtils.floor(min[Z]), z1 = MathUtils.ceil(max[Z]) - 1;
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    if (isSolid(x, y, z)) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void setBox(Vector3 position) {
+        setBox(position.x, position.y, position.z);
+    }
+
+    private void setBox(float x, float y, float z) {
+        min[X] = x - halfWidth;
+        max[X] = x + halfWidth;
+        min[Y] = y;
+        max[Y] = y + height;
+        min[Z] = z - halfWidth;
+        max[Z] = z + halfWidth;
+    }
+
+    /**
+     * Verschiebt die Box auf einer Achse, bis sie die Strecke geschafft hat oder an einen festen Block stösst.
+     *
+     * @return Die tatsächlich gefahrene Strecke.
+     */
+    private float sweep(int axis, float amount) {
+        if (amount == 0f) return 0f;
+
+        // Die Blöcke quer zur Achse, die die Box überlappt, in der Reihenfolge X, Y, Z ohne die Achse selbst
+        int a = axis == X ? Y : X, b = axis == Z ? Y : Z;
+        int a0 = MathUtils.floor(min[a]), a1 = MathUtils.ceil(max[a]) - 1;
+        int b0 = MathUtils.floor(min[b]), b1 = MathUtils.ceil(max[b]) - 1;
+
+        float moved = amount;
+        if (amount > 0) {
+            int from = MathUtils.ceil(max[axis]), to = MathUtils.ceil(max[axis] + amount) - 1;
+            for (int layer = from; layer <= to; layer++) {
+                if (isSolidLayer(axis, layer, a0, a1, b0, b1)) {
+                    moved = Math.max(0f, layer - EPSILON - max[axis]);
+                    break;
+                }
+            }
+        } else {
+            int from = MathUtils.floor(min[axis]) - 1, to = MathUtils.floor(min[axis] + amount);
+            for (int layer = from; layer >= to; layer--) {
+                if (isSolidLayer(axis, layer, a0, a1, b0, b1)) {
+                    moved = Math.min(0f, layer + 1 + EPSILON - min[axis]);
+                    break;
+                }
+            }
+        }
+        min[axis] += moved;
+        max[axis] += moved;
+        return moved;
+    }
+
+    /**
+     * Prüft eine Schicht der Box quer zu einer Achse auf feste Blöcke.
+     */
+    private boolean isSolidLayer(int axis, int layer, int a0, int a1, int b0, int b1) {
+        for (int i = a0; i <= a1; i++) {
+            for (int j = b0; j <= b1; j++) {
+                boolean solid;
+                if (axis == X) {
+                    solid = isSolid(layer, i, j);
+                } else if (axis == Y) {
+                    solid = isSolid(i, layer, j);
+                } else {
+                    solid = isSolid(i, j, layer);
+                }
+                if (solid) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSolid(int x, int y, int z) {
+        if (y < 0) return true;
+        if (y >= Chunk.HEIGHT) return false;
+
+        Chunk chunk = chunkGrid.getChunk(Math.floorDiv(x, Chunk.WIDTH), Math.floorDiv(z, Chunk.DEPTH));
+        if (chunk == null) return true;
+        return chunk.getBlock(x - chunk.originX, y, z - chunk.originZ).isSolid();
+    }
+}
@@ -0,0 +1,172 @@
+package net.fynn.javavoxelengine.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Eine Region-Datei, die die Daten von {@link #SIZE} x {@link #SIZE} Chunks enthält.
+ * <p>
+ * Aufbau: Am Anfang steht eine Tabelle mit einem Eintrag pro Chunk (Start-Sektor und Länge in Bytes),
+ * danach folgen die (komprimierten) Chunk-Daten in Sektoren zu {@link #SECTOR_BYTES} Bytes.
+ * Die Tabelle ist per {@link MappedByteBuffer} eingeblendet, die Chunk-Daten werden über den
+ * {@link FileChannel} gelesen und geschrieben.
+ * <p>
+ * Neue Daten eines Chunks kommen immer in freie Sektoren, erst danach zeigt sein Eintrag in der Tabelle darauf.
+ * Bricht das Schreiben ab, bleiben die alten Daten also gültig. Einträge, die über das Ende der Datei zeigen,
+ * gelten als beschädigt: Lesen wirft dann eine {@link IOException}, und ihre Sektoren gelten als frei.
+ */
+public class RegionFile implements Closeable {
+    /** Anzahl der Chunks pro Richtung in einer Region. */
+    public static final int SIZE = 32;
+
+    /** Die Grösse eines Sektors in Bytes. */
+    public static final int SECTOR_BYTES = 4096;
+
+    private static final int ENTRY_BYTES = 8;
+    private static final int HEADER_BYTES = SIZE * SIZE * ENTRY_BYTES;
+    private static final int HEADER_SECTORS = (HEADER_BYTES + SECTOR_BYTES - 1) / SECTOR_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+
+    /** Die Grösse der Datei in Bytes, wächst mit jedem Schreiben ans Ende. */
+    private long size;
+
+    /** Die belegten Sektoren der Datei, inklusive der Tabelle. */
+    private final BitSet usedSectors = new BitSet();
+
+    /**
+     * Öffnet eine Region-Datei oder legt sie neu an.
+     *
+     * @param path Der Pfad der Datei.
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann.
+     */
+    public RegionFile(Path path) throws IOException {
+        channel = FileChannel.open(path,
+            StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        long initialSize = channel.size();
+        if (initialSize < HEADER_SECTORS * SECTOR_BYTES) {
+            channel.write(ByteBuffer.allocate((int) (HEADER_SECTORS * SECTOR_BYTES - initialSize)), initialSize);
+        }
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+
+        size = channel.size();
+        usedSectors.set(0, HEADER_SECTORS);
+        for (int entry = 0; entry < HEADER_BYTES; entry += ENTRY_BYTES) {
+            int sector = header.getInt(entry);
+            int length = header.getInt(entry + 4);
+            if (isValid(sector, length, size)) {
+                usedSectors.set(sector, sector + sectorsFor(length));
+            }
+        }
+    }
+
+    /**
+     * Liest die gespeicherten Daten eines Chunks.
+     *
+     * @param localX Die X-Koordinate des Chunks innerhalb der Region (0 bis SIZE-1).
+     * @param localZ Die Z-Koordinate des Chunks innerhalb der Region (0 bis SIZE-1).
+     * @return Die Daten oder {@code null}, wenn der Chunk nicht gespeichert ist.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder der Eintrag beschädigt ist.
+     */
+    public synchronized byte[] read(int localX, int localZ) throws IOException {
+        int entry = entryOffset(localX, localZ);
+        int sector = header.getInt(entry);
+        int length = header.getInt(entry + 4);
+        if (sector == 0 && length == 0) return null;
+        if (!isValid(sector, length, channel.size())) {
+            throw new IOException("Invalid region entry for chunk " + localX + " " + localZ
+                + ": sector " + sector + ", length " + length);
+        }
+
+        // In ein normales Array lesen, ein eingeblendeter Puffer pro Chunk würde erst beim GC freigegeben
+        byte[] data = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long position = (long) sector * SECTOR_BYTES;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of region file");
+            position += read;
+        }
+        return data;
+    }
+
+    /**
+     * Schreibt die Daten eines Chunks in die erste genügend grosse Lücke oder ans Ende der Datei.
+     * Erst danach wird der Eintrag in der Tabelle umgestellt und die alten Sektoren werden freigegeben.
+     *
+     * @param localX Die X-Koordinate des Chunks innerhalb der Region (0 bis SIZE-1).
+     * @param localZ Die Z-Koordinate des Chunks innerhalb der Region (0 bis SIZE-1).
+     * @param data Die Daten.
+     * @param length Die Anzahl der gültigen Bytes in {@code data}.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public synchronized void write(int localX, int localZ, byte[] data, int length) throws IOException {
+        int entry = entryOffset(localX, localZ);
+        int oldSector = header.getInt(entry);
+        int oldLength = header.getInt(entry + 4);
+        boolean oldValid = isValid(oldSector, oldLength, size);
+        int sectors = sectorsFor(length);
+
+        // Nie über die alten Daten, sie bleiben gültig, bis der Eintrag auf die neuen zeigt
+        int sector = findFreeRun(sectors);
+        usedSectors.set(sector, sector + sectors);
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+        long position = (long) sector * SECTOR_BYTES;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        size = Math.max(size, position);
+
+        header.putInt(entry, sector);
+        header.putInt(entry + 4, length);
+
+        if (oldValid) usedSectors.clear(oldSector, oldSector + sectorsFor(oldLength));
+    }
+
+    /**
+     * Schreibt alle Änderungen auf die Festplatte und schliesst die Datei.
+     *
+     * @throws IOException Wenn die Datei nicht geschlossen werden kann.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        header.force();
+        channel.force(true);
+        channel.close();
+    }
+
+    /**
+     * Sucht die erste Folge von {@code sectors} freien Sektoren. Hinter dem letzten belegten Sektor ist immer Platz.
+     */
+    private int findFreeRun(int sectors) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int next = usedSectors.nextSetBit(start);
+            if (next < 0 || next - start >= sectors) return start;
+            start = usedSectors.nextClearBit(next);
+        }
+    }
+
+    /**
+     * Prüft, ob ein Eintrag der Tabelle auf Daten hinter der Tabelle und vor dem Ende der Datei zeigt.
+     */
+    private static boolean isValid(int sector, int length, long fileSize) {
+        return sector >= HEADER_SECTORS && length > 0 && (long) sector * SECTOR_BYTES + length <= fileSize;
+    }
+
+    private static int entryOffset(int localX, int localZ) {
+        return (localX + localZ * SIZE) * ENTRY_BYTES;
+    }
+
+    private static int sectorsFor(int length) {
+        return (length + SECTOR_BYTES - 1) / SECTOR_BYTES;
+    }
+}
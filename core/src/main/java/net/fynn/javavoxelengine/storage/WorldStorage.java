@@ -0,0 +1,242 @@
+package net.fynn.javavoxelengine.storage;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.chunk.ChunkGrid;
+import net.fynn.javavoxelengine.chunk.ChunkSection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Speichert die Chunks einer Welt in {@link RegionFile Region-Dateien} in einem Verzeichnis.
+ * <p>
+ * Jeder Chunk wird einzeln komprimiert abgelegt. Serialisieren, Komprimieren und Schreiben laufen auf einem
+ * eigenen Hintergrund-Thread; bis es fertig ist, liefert {@link #loadChunk(int, int)} die noch nicht
+ * geschriebenen Abschnitte aus dem Speicher, damit ein schnell wieder geladener Chunk nicht verloren geht.
+ */
+public class WorldStorage {
+    private static final String SEED_FILE = "world.dat";
+
+    /**
+     * Die grösste unkomprimierte Länge eines Chunks: die Anzahl der Abschnitte, dann pro Abschnitt Bitbreite,
+     * Palettengrösse, höchstens 16 Paletteneinträge und die Indizes mit 4 Bit pro Voxel.
+     */
+    private static final int MAX_RAW_LENGTH = 1 + Chunk.SECTION_COUNT * (2 + 16 + ChunkSection.VOLUME / 2);
+
+    private final Path directory;
+
+    /** Die geöffneten Region-Dateien, Schlüssel wie {@link ChunkGrid#key(int, int)}. */
+    private final Map<Long, RegionFile> regions = new ConcurrentHashMap<>();
+
+    /** Kopien der Abschnitte von Chunks, die noch auf das Schreiben warten. Werden nicht mehr verändert. */
+    private final Map<Long, ChunkSection[]> pendingWrites = new ConcurrentHashMap<>();
+
+    private final ExecutorService ioThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "world-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Öffnet den Speicher einer Welt im lokalen Verzeichnis {@code world}.
+     */
+    public WorldStorage() {
+        this(Gdx.files.local("world").file().toPath());
+    }
+
+    /**
+     * Öffnet den Speicher einer Welt.
+     *
+     * @param directory Das Verzeichnis der Welt, wird bei Bedarf angelegt.
+     */
+    public WorldStorage(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not create world directory " + directory, e);
+        }
+    }
+
+    /**
+     * Liest den gespeicherten Seed der Welt. Gibt es noch keinen, wird {@code fallback} gespeichert.
+     *
+     * @param fallback Der Seed für eine neue Welt.
+     * @return Der Seed der Welt.
+     */
+    public long loadOrCreateSeed(long fallback) {
+        Path file = directory.resolve(SEED_FILE);
+        try {
+            if (Files.exists(file)) {
+                return ByteBuffer.wrap(Files.readAllBytes(file)).getLong();
+            }
+            Files.write(file, ByteBuffer.allocate(8).putLong(fallback).array());
+        } catch (IOException e) {
+            Gdx.app.error("WorldStorage", "Could not access " + file, e);
+        }
+        return fallback;
+    }
+
+    /**
+     * Lädt einen gespeicherten Chunk. Kann von beliebigen Threads aufgerufen werden.
+     *
+     * @param chunkX Die Chunk-X-Koordinate.
+     * @param chunkZ Die Chunk-Z-Koordinate.
+     * @return Der Chunk oder {@code null}, wenn er noch nie gespeichert wurde oder nicht gelesen werden kann.
+     *         Ein beschädigter Chunk wird dann also neu generiert.
+     */
+    public Chunk loadChunk(int chunkX, int chunkZ) {
+        int originX = chunkX * Chunk.WIDTH;
+        int originZ = chunkZ * Chunk.DEPTH;
+        try {
+            ChunkSection[] pending = pendingWrites.get(ChunkGrid.key(chunkX, chunkZ));
+            if (pending != null) {
+                // Die wartenden Abschnitte gehören dem I/O-Thread, der Chunk bekommt eigene Kopien
+                ChunkSection[] sections = new ChunkSection[pending.length];
+                for (int i = 0; i < sections.length; i++) {
+                    sections[i] = pending[i].copy();
+                }
+                return new Chunk(originX, 0, originZ, sections);
+            }
+            byte[] stored = region(chunkX, chunkZ).read(
+                Math.floorMod(chunkX, RegionFile.SIZE), Math.floorMod(chunkZ, RegionFile.SIZE));
+            if (stored == null) return null;
+            return Chunk.read(new DataInputStream(new ByteArrayInputStream(inflate(stored))), originX, 0, originZ);
+        } catch (IOException | DataFormatException | RuntimeException e) {
+            Gdx.app.error("WorldStorage", "Could not load chunk at " + originX + " " + originZ, e);
+            return null;
+        }
+    }
+
+    /**
+     * Speichert einen Chunk im Hintergrund. Auf dem aufrufenden Thread werden nur die Abschnitte kopiert,
+     * danach gilt der Chunk als gespeichert. Muss auf dem Thread aufgerufen werden, der den Chunk verändert.
+     *
+     * @param chunk Der zu speichernde Chunk.
+     */
+    public void saveChunkAsync(Chunk chunk) {
+        final int chunkX = Math.floorDiv(chunk.originX, Chunk.WIDTH);
+        final int chunkZ = Math.floorDiv(chunk.originZ, Chunk.DEPTH);
+        final Long key = ChunkGrid.key(chunkX, chunkZ);
+
+        final ChunkSection[] sections = chunk.copySections();
+        pendingWrites.put(key, sections);
+        chunk.markClean();
+
+        ioThread.execute(() -> {
+            try {
+                ByteArrayOutputStream raw = new ByteArrayOutputStream(1024);
+                Chunk.write(new DataOutputStream(raw), sections);
+                ByteArrayOutputStream compressed = deflate(raw.toByteArray());
+                region(chunkX, chunkZ).write(
+                    Math.floorMod(chunkX, RegionFile.SIZE), Math.floorMod(chunkZ, RegionFile.SIZE),
+                    compressed.toByteArray(), compressed.size());
+            } catch (IOException e) {
+                Gdx.app.error("WorldStorage", "Could not save chunk at " + chunkX + " " + chunkZ, e);
+            } finally {
+                // Nur entfernen, wenn inzwischen keine neuere Version wartet
+                pendingWrites.remove(key, sections);
+            }
+        });
+    }
+
+    /**
+     * Wartet auf alle ausstehenden Schreibvorgänge und schliesst die Region-Dateien. Vorher muss die Generierung
+     * gestoppt sein, siehe {@link ChunkGrid#dispose()}, weil sie sonst noch Region-Dateien öffnen könnte.
+     */
+    public void close() {
+        ioThread.shutdown();
+        try {
+            if (!ioThread.awaitTermination(30, TimeUnit.SECONDS)) {
+                Gdx.app.error("WorldStorage", "Timed out while saving chunks");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (RegionFile region : regions.values()) {
+            try {
+                region.close();
+            } catch (IOException e) {
+                Gdx.app.error("WorldStorage", "Could not close region file", e);
+            }
+        }
+        regions.clear();
+    }
+
+    private RegionFile region(int chunkX, int chunkZ) throws IOException {
+        int regionX = Math.floorDiv(chunkX, RegionFile.SIZE);
+        int regionZ = Math.floorDiv(chunkZ, RegionFile.SIZE);
+        Long key = ChunkGrid.key(regionX, regionZ);
+        RegionFile region = regions.get(key);
+        if (region != null) return region;
+
+        synchronized (regions) {
+            region = regions.get(key);
+            if (region == null) {
+                region = new RegionFile(directory.resolve("r." + regionX + "." + regionZ + ".region"));
+                regions.put(key, region);
+            }
+            return region;
+        }
+    }
+
+    /**
+     * Komprimiert die Daten, vorangestellt wird die unkomprimierte Länge.
+     */
+    private static ByteArrayOutputStream deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+            out.write(raw.length >>> 24);
+            out.write(raw.length >>> 16);
+            out.write(raw.length >>> 8);
+            out.write(raw.length);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) throws DataFormatException {
+        if (stored.length < 4) throw new DataFormatException("Chunk data too short: " + stored.length);
+        int length = ByteBuffer.wrap(stored).getInt();
+        if (length < 0 || length > MAX_RAW_LENGTH) throw new DataFormatException("Invalid chunk length " + length);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 4, stored.length - 4);
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && inflater.needsInput()) break;
+                read += n;
+            }
+            if (read != length) throw new DataFormatException("Truncated chunk data");
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+}
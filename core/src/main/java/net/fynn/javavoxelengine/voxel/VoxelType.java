@@ -31,6 +31,9 @@ public enum VoxelType {
     /** Äpfel, Rot */
     APPLE(new Color(0.92f,0.15f,0.125f,1f));
 
+    /** Alle Voxeltypen, nach ihrer ID geordnet (die ID ist der ordinal-Wert). */
+    private static final VoxelType[] VALUES = values();
+
     /** Die Farbe des Voxeltyps. */
     public final Color color;
 
@@ -38,6 +41,25 @@ public enum VoxelType {
         this.color = color;
     }
 
+    /**
+     * Gibt die kompakte ID des Voxeltyps zurück, wie sie im Chunk-Speicher abgelegt wird.
+     *
+     * @return Die ID des Voxeltyps.
+     */
+    public byte getId() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Gibt den Voxeltyp zu einer ID aus dem Chunk-Speicher zurück.
+     *
+     * @param id Die ID des Voxeltyps.
+     * @return Der zugehörige Voxeltyp.
+     */
+    public static VoxelType fromId(int id) {
+        return VALUES[id];
+    }
+
     /**
      * Gibt an, ob der Voxeltyp sichtbar ist.
      *
@@ -46,4 +68,22 @@ public enum VoxelType {
     public boolean isVisible() {
         return this != AIR;
     }
+
+    /**
+     * Gibt an, ob der Voxeltyp fest ist, also den Spieler aufhält und auf ihm stehen kann.
+     * Luft, Blätter und Äpfel kann man durchqueren.
+     *
+     * @return True, wenn der Voxeltyp fest ist, sonst false.
+     */
+    public boolean isSolid() {
+        switch (this) {
+            case AIR:
+            case LEAVES_LIGHT:
+            case LEAVES_DARK:
+            case APPLE:
+                return false;
+            default:
+                return true;
+        }
+    }
 }
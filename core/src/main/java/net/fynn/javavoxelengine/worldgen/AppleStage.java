@@ -0,0 +1,40 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.Random;
+
+/**
+ * Hängt Äpfel unter die Blätter der Bäume, nachdem die {@link TreeStage} gelaufen ist.
+ * Pro Spalte kommt nur das unterste Blatt in Frage, das vom Boden aus frei über Luft hängt.
+ */
+public class AppleStage implements GenerationStage {
+    /** Die Chance, dass unter einem solchen Blatt ein Apfel hängt. */
+    public static final double APPLE_CHANCE = 0.2;
+
+    private static final byte AIR_ID = VoxelType.AIR.getId(), APPLE_ID = VoxelType.APPLE.getId();
+    private static final byte LEAVES_LIGHT_ID = VoxelType.LEAVES_LIGHT.getId();
+    private static final byte LEAVES_DARK_ID = VoxelType.LEAVES_DARK.getId();
+
+    @Override
+    public void generate(ProtoChunk chunk, Random random) {
+        byte[] heights = chunk.getTerrainHeights();
+        byte[] ids = chunk.getIds();
+        for (int column = 0; column < Chunk.LAYER_SIZE; column++) {
+            // Vom Boden aus nach oben bis zum ersten Block über der Luft
+            int i = (heights[column] + 1) * Chunk.LAYER_SIZE + column;
+            if (i >= ids.length || ids[i] != AIR_ID) continue;
+            do {
+                i += Chunk.LAYER_SIZE;
+            } while (i < ids.length && ids[i] == AIR_ID);
+            if (i >= ids.length) continue;
+
+            byte above = ids[i];
+            if (above != LEAVES_LIGHT_ID && above != LEAVES_DARK_ID) continue;
+            if (random.nextDouble() < APPLE_CHANCE) {
+                ids[i - Chunk.LAYER_SIZE] = APPLE_ID;
+            }
+        }
+    }
+}
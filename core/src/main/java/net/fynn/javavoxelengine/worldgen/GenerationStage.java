@@ -0,0 +1,35 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import java.util.Random;
+
+/**
+ * Eine Stufe der Welt-Generierung, z.B. das Gelände oder die Bäume. Der {@link WorldGenerator} führt seine Stufen
+ * für jeden Chunk in fester Reihenfolge aus, jede sieht also das Ergebnis der vorherigen.
+ * <p>
+ * Verschiedene Chunks werden gleichzeitig auf mehreren Threads generiert. Eine Stufe darf deshalb nur den
+ * übergebenen {@link ProtoChunk} verändern und keinen eigenen veränderlichen Zustand haben.
+ */
+public interface GenerationStage {
+    /**
+     * Führt die Stufe für einen Chunk aus.
+     *
+     * @param chunk Der Chunk, der gerade generiert wird.
+     * @param random Ein Zufallsgenerator, der für diesen Chunk und diese Stufe immer gleich startet.
+     */
+    void generate(ProtoChunk chunk, Random random);
+
+    /**
+     * Gibt an, wie weit die Stufe über den Rand ihres Chunks hinaus schreibt, z.B. mit Baumkronen.
+     * <p>
+     * Ist die Reichweite grösser als 0, führt der {@link WorldGenerator} die Stufe auch für alle Nachbarn in
+     * Reichweite aus, jeweils mit deren Koordinaten und Zufallsgenerator, und behält nur die Blöcke im generierten
+     * Chunk. So ist jeder Chunk für sich vollständig, egal wann und ob seine Nachbarn generiert werden. Dafür darf
+     * eine solche Stufe nur über die Methoden des {@link ProtoChunk} lesen und schreiben, und welche Zufallszahlen
+     * sie zieht, darf nicht von den Blöcken abhängen, die schon im Chunk stehen.
+     *
+     * @return Die Reichweite in Blöcken, 0 wenn die Stufe nur in ihren eigenen Chunk schreibt.
+     */
+    default int getReach() {
+        return 0;
+    }
+}
@@ -0,0 +1,191 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ein Chunk während der Generierung: ein einfaches Array mit einer Voxel-ID pro Block, das die
+ * {@link GenerationStage Stufen} nacheinander füllen. Erst am Ende packt der {@link WorldGenerator} es in die
+ * Abschnitte eines {@link Chunk}, so kostet das Schreiben während der Generierung nur einen Array-Zugriff.
+ * <p>
+ * Für Stufen mit {@link GenerationStage#getReach() Reichweite} zeigt der ProtoChunk nacheinander die Sicht eines
+ * Nachbarn, siehe {@link #setSource(int, int)}: Koordinaten, Geländehöhen und Ursprung beziehen sich dann auf den
+ * Nachbarn, gespeichert werden aber nur die Blöcke, die in den generierten Chunk fallen. Blöcke ausserhalb davon und
+ * über oder unter der Welt werden ignoriert, der Nachbar setzt sie bei seiner eigenen Generierung.
+ * Jeder Thread benutzt seinen eigenen ProtoChunk für einen Chunk nach dem anderen.
+ */
+public class ProtoChunk {
+    private static final byte AIR_ID = VoxelType.AIR.getId();
+
+    /** Die Voxel-IDs, Index siehe {@link Chunk#index(int, int, int)}. */
+    private final byte[] ids = new byte[Chunk.VOLUME];
+
+    private final Random random = new Random();
+
+    private int chunkX, chunkZ;
+    private byte[] terrainHeights;
+    private TerrainSampler sampler;
+
+    /** Der Abstand des Chunks, für den die Stufe gerade läuft, zum generierten Chunk in Chunks. */
+    private int sourceX, sourceZ;
+    /** Die Geländehöhen des Chunks, für den die Stufe gerade läuft. */
+    private byte[] sourceHeights;
+
+    /**
+     * Leert den ProtoChunk für den nächsten Chunk.
+     */
+    void reset(int chunkX, int chunkZ, TerrainSampler sampler) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.sampler = sampler;
+        terrainHeights = sampler.getColumnHeights(chunkX, chunkZ);
+        Arrays.fill(ids, AIR_ID);
+        setSource(0, 0);
+    }
+
+    /**
+     * Lässt die nächste Stufe aus Sicht eines Nachbarn laufen, {@code (0, 0)} für den generierten Chunk selbst.
+     * Die Höhen des Nachbarn kommen aus dem Cache des {@link TerrainSampler}, meistens ohne neu zu rechnen.
+     *
+     * @param dx Der Abstand des Nachbarn in X in Chunks.
+     * @param dz Der Abstand des Nachbarn in Z in Chunks.
+     */
+    void setSource(int dx, int dz) {
+        sourceX = dx;
+        sourceZ = dz;
+        sourceHeights = dx == 0 && dz == 0 ? terrainHeights : sampler.getColumnHeights(chunkX + dx, chunkZ + dz);
+    }
+
+    /**
+     * Gibt die Voxel-IDs direkt zurück, für Stufen, die grosse Bereiche auf einmal schreiben.
+     * Schreibzugriffe gehen hier nicht über {@link #setBlock(int, int, int, VoxelType)}, und sie gelten immer für den
+     * generierten Chunk. Stufen mit Reichweite dürfen sie deshalb nicht benutzen.
+     */
+    byte[] getIds() {
+        return ids;
+    }
+
+    /**
+     * Gibt die Geländehöhen aller Spalten des generierten Chunks zurück, Index {@code z * Chunk.WIDTH + x}.
+     * Darf nicht verändert werden und gilt wie {@link #getIds()} nur für Stufen ohne Reichweite.
+     */
+    byte[] getTerrainHeights() {
+        return terrainHeights;
+    }
+
+    Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Gibt die X-Koordinate des Chunks zurück, für den die Stufe gerade läuft.
+     *
+     * @return Die X-Koordinate in Chunk-Koordinaten.
+     */
+    public int getChunkX() {
+        return chunkX + sourceX;
+    }
+
+    /**
+     * Gibt die Z-Koordinate des Chunks zurück, für den die Stufe gerade läuft.
+     *
+     * @return Die Z-Koordinate in Chunk-Koordinaten.
+     */
+    public int getChunkZ() {
+        return chunkZ + sourceZ;
+    }
+
+    /**
+     * Gibt die X-Koordinate des Ursprungs in der Welt zurück.
+     *
+     * @return Die X-Koordinate des Blocks bei x = 0.
+     */
+    public int getOriginX() {
+        return getChunkX() * Chunk.WIDTH;
+    }
+
+    /**
+     * Gibt die Z-Koordinate des Ursprungs in der Welt zurück.
+     *
+     * @return Die Z-Koordinate des Blocks bei z = 0.
+     */
+    public int getOriginZ() {
+        return getChunkZ() * Chunk.DEPTH;
+    }
+
+    /**
+     * Gibt den Sampler der Welt zurück, z.B. um die Höhe ausserhalb des Chunks abzufragen.
+     *
+     * @return Der Sampler.
+     */
+    public TerrainSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Gibt die Geländehöhe einer Spalte laut {@link TerrainSampler} zurück, unabhängig davon, was die Stufen
+     * bisher geschrieben haben.
+     *
+     * @param x Die lokale X-Koordinate der Spalte.
+     * @param z Die lokale Z-Koordinate der Spalte.
+     * @return Das Y des obersten Geländeblocks.
+     */
+    public int getTerrainHeight(int x, int z) {
+        return sourceHeights[z * Chunk.WIDTH + x];
+    }
+
+    /**
+     * Gibt an, ob eine lokale Spalte im generierten Chunk liegt, nur dort werden Blöcke gespeichert.
+     *
+     * @param x Die lokale X-Koordinate.
+     * @param z Die lokale Z-Koordinate.
+     * @return True, wenn die Spalte zum generierten Chunk gehört.
+     */
+    public boolean contains(int x, int z) {
+        x += sourceX * Chunk.WIDTH;
+        z += sourceZ * Chunk.DEPTH;
+        return x >= 0 && x < Chunk.WIDTH && z >= 0 && z < Chunk.DEPTH;
+    }
+
+    /**
+     * Gibt den Voxeltyp an einer lokalen Position zurück.
+     *
+     * @param x Die lokale X-Koordinate.
+     * @param y Die Y-Koordinate.
+     * @param z Die lokale Z-Koordinate.
+     * @return Der Voxeltyp, {@link VoxelType#AIR} ausserhalb des generierten Chunks.
+     */
+    public VoxelType getBlock(int x, int y, int z) {
+        if (!contains(x, z) || y < 0 || y >= Chunk.HEIGHT) return VoxelType.AIR;
+        return VoxelType.fromId(ids[Chunk.index(x + sourceX * Chunk.WIDTH, y, z + sourceZ * Chunk.DEPTH)]);
+    }
+
+    /**
+     * Setzt einen Block. Liegt er ausserhalb des generierten Chunks, wird er ignoriert.
+     *
+     * @param x Die lokale X-Koordinate, darf ausserhalb des Chunks liegen.
+     * @param y Die Y-Koordinate.
+     * @param z Die lokale Z-Koordinate, darf ausserhalb des Chunks liegen.
+     * @param type Der Voxeltyp.
+     */
+    public void setBlock(int x, int y, int z, VoxelType type) {
+        if (!contains(x, z) || y < 0 || y >= Chunk.HEIGHT) return;
+        ids[Chunk.index(x + sourceX * Chunk.WIDTH, y, z + sourceZ * Chunk.DEPTH)] = type.getId();
+    }
+
+    /**
+     * Setzt einen Block nur, wenn dort Luft ist, z.B. für Blätter, die nichts überschreiben sollen.
+     *
+     * @param x Die lokale X-Koordinate, darf ausserhalb des Chunks liegen.
+     * @param y Die Y-Koordinate.
+     * @param z Die lokale Z-Koordinate, darf ausserhalb des Chunks liegen.
+     * @param type Der Voxeltyp.
+     */
+    public void setBlockIfAir(int x, int y, int z, VoxelType type) {
+        if (getBlock(x, y, z) != VoxelType.AIR) return;
+        setBlock(x, y, z, type);
+    }
+}
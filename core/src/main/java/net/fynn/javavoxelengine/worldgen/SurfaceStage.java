@@ -0,0 +1,29 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.Random;
+
+/**
+ * Legt die Oberfläche auf das Gelände: {@link #DIRT_DEPTH} Lagen Erde und darauf Gras.
+ */
+public class SurfaceStage implements GenerationStage {
+    /** Wie viele Lagen Erde unter dem Gras liegen. */
+    public static final int DIRT_DEPTH = 3;
+
+    private static final byte DIRT_ID = VoxelType.DIRT.getId(), GRASS_ID = VoxelType.GRASS.getId();
+
+    @Override
+    public void generate(ProtoChunk chunk, Random random) {
+        byte[] heights = chunk.getTerrainHeights();
+        byte[] ids = chunk.getIds();
+        for (int column = 0; column < Chunk.LAYER_SIZE; column++) {
+            int height = heights[column];
+            for (int y = Math.max(height - DIRT_DEPTH, 0); y < height; y++) {
+                ids[y * Chunk.LAYER_SIZE + column] = DIRT_ID;
+            }
+            ids[height * Chunk.LAYER_SIZE + column] = GRASS_ID;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import com.badlogic.gdx.math.MathUtils;
+import make.some.noise.Noise;
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.chunk.ChunkGrid;
+
+/**
+ * Bestimmt die Geländehöhe jeder Spalte der Welt aus fraktalem Perlin-Rauschen.
+ * <p>
+ * Das Rauschen wird nicht für jede Spalte ausgewertet, sondern nur auf einem groben Raster mit
+ * {@link #CELL_SIZE} Blöcken Abstand, dazwischen wird bilinear interpoliert. Das Raster ist an den
+ * Welt-Koordinaten ausgerichtet, benachbarte Chunks teilen sich also die Stützpunkte an ihrer Grenze
+ * und passen nahtlos aneinander. Die Höhen eines ganzen Chunks werden auf einmal berechnet und in einem
+ * kleinen Cache gehalten, damit Nachbarn und Bäume sie erneut abfragen können, ohne neu zu rechnen.
+ * <p>
+ * Ein Sampler kann von mehreren Threads gleichzeitig benutzt werden: Der Rausch-Generator wird nach dem
+ * Erstellen nur noch gelesen, und der Cache enthält nur unveränderliche Einträge.
+ */
+public class TerrainSampler {
+    /** Der Abstand der Stützpunkte des groben Rasters in Blöcken, teilt {@link Chunk#WIDTH} und {@link Chunk#DEPTH}. */
+    public static final int CELL_SIZE = 4;
+
+    /** Die Anzahl der Oktaven des fraktalen Rauschens, jede mit doppelter Frequenz und halber Stärke. */
+    public static final int OCTAVES = 3;
+
+    /** Die grösste Geländehöhe. */
+    public static final int MAX_HEIGHT = Chunk.HEIGHT - 20;
+
+    /** Die Anzahl der Stützpunkte pro Achse eines Chunks, inklusive der Grenze zum Nachbarn. */
+    private static final int GRID_SIZE = Chunk.WIDTH / CELL_SIZE + 1;
+
+    /** Die Anzahl der Chunks im Cache, eine Zweierpotenz. */
+    private static final int CACHE_SIZE = 256;
+
+    private final int seed;
+    private final Noise noise;
+    private final ColumnHeights[] cache = new ColumnHeights[CACHE_SIZE];
+
+    /** Die Höhen eines Chunks, unveränderlich, damit der Cache ohne Sperren auskommt. */
+    private static final class ColumnHeights {
+        final long key;
+        final byte[] heights;
+
+        ColumnHeights(long key, byte[] heights) {
+            this.key = key;
+            this.heights = heights;
+        }
+    }
+
+    /**
+     * Erstellt einen Sampler mit eigenem Cache. Alle Chunks einer Welt sollten sich einen Sampler teilen, der
+     * {@link WorldGenerator} erstellt dafür seinen eigenen.
+     *
+     * @param seed Der Seed für das Rauschen.
+     */
+    public TerrainSampler(int seed) {
+        this.seed = seed;
+        noise = new Noise(seed);
+        noise.setNoiseType(Noise.PERLIN_FRACTAL);
+        noise.setFractalOctaves(OCTAVES);
+    }
+
+    /**
+     * Gibt den Seed des Samplers zurück.
+     *
+     * @return Der Seed.
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gibt die Geländehöhen aller Spalten eines Chunks zurück, aus dem Cache oder neu berechnet.
+     * Das Array wird geteilt und darf nicht verändert werden.
+     *
+     * @param chunkX Die X-Koordinate des Chunks in Chunk-Koordinaten.
+     * @param chunkZ Die Z-Koordinate des Chunks in Chunk-Koordinaten.
+     * @return Die Höhen, Index {@code z * Chunk.WIDTH + x}. Der Wert ist das Y des obersten Blocks.
+     */
+    public byte[] getColumnHeights(int chunkX, int chunkZ) {
+        long key = ChunkGrid.key(chunkX, chunkZ);
+        int slot = (int) ((key ^ key >>> 32) * 0x9E3779B9L >>> 24) & (CACHE_SIZE - 1);
+        ColumnHeights cached = cache[slot];
+        if (cached != null && cached.key == key) return cached.heights;
+
+        byte[] heights = sampleChunk(chunkX * Chunk.WIDTH, chunkZ * Chunk.DEPTH);
+        cache[slot] = new ColumnHeights(key, heights);
+        return heights;
+    }
+
+    /**
+     * Gibt die Geländehöhe einer einzelnen Spalte zurück, z.B. für den Startpunkt des Spielers.
+     *
+     * @param worldX Die X-Koordinate der Spalte in der Welt.
+     * @param worldZ Die Z-Koordinate der Spalte in der Welt.
+     * @return Das Y des obersten Blocks.
+     */
+    public int getHeight(int worldX, int worldZ) {
+        byte[] heights = getColumnHeights(Math.floorDiv(worldX, Chunk.WIDTH), Math.floorDiv(worldZ, Chunk.DEPTH));
+        return heights[Math.floorMod(worldZ, Chunk.DEPTH) * Chunk.WIDTH + Math.floorMod(worldX, Chunk.WIDTH)];
+    }
+
+    /**
+     * Wertet das Rauschen auf dem groben Raster eines Chunks aus und interpoliert die Höhen dazwischen.
+     */
+    private byte[] sampleChunk(int originX, int originZ) {
+        float[] grid = new float[GRID_SIZE * GRID_SIZE];
+        for (int gz = 0; gz < GRID_SIZE; gz++) {
+            for (int gx = 0; gx < GRID_SIZE; gx++) {
+                grid[gz * GRID_SIZE + gx] = noise.getConfiguredNoise(originX + gx * CELL_SIZE, originZ + gz * CELL_SIZE);
+            }
+        }
+
+        byte[] heights = new byte[Chunk.LAYER_SIZE];
+        float step = 1f / CELL_SIZE;
+        for (int gz = 0; gz < GRID_SIZE - 1; gz++) {
+            for (int gx = 0; gx < GRID_SIZE - 1; gx++) {
+                float n00 = grid[gz * GRID_SIZE + gx];
+                float n10 = grid[gz * GRID_SIZE + gx + 1];
+                float n01 = grid[(gz + 1) * GRID_SIZE + gx];
+                float n11 = grid[(gz + 1) * GRID_SIZE + gx + 1];
+                for (int dz = 0; dz < CELL_SIZE; dz++) {
+                    float fz = dz * step;
+                    float left = n00 + (n01 - n00) * fz;
+                    float right = n10 + (n11 - n10) * fz;
+                    int row = (gz * CELL_SIZE + dz) * Chunk.WIDTH + gx * CELL_SIZE;
+                    for (int dx = 0; dx < CELL_SIZE; dx++) {
+                        float n = left + (right - left) * (dx * step);
+                        // Rauschen in [-1, 1] auf [0, MAX_HEIGHT] abbilden
+                        heights[row + dx] = (byte) MathUtils.clamp((int) (((n + 1) / 2) * MAX_HEIGHT), 0, MAX_HEIGHT);
+                    }
+                }
+            }
+        }
+        return heights;
+    }
+}
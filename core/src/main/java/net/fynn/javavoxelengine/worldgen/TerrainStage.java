@@ -0,0 +1,36 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Die erste Stufe: füllt jede Spalte bis zur Höhe aus dem {@link TerrainSampler} mit Stein, darüber bleibt Luft.
+ */
+public class TerrainStage implements GenerationStage {
+    private static final byte STONE_ID = VoxelType.STONE.getId();
+
+    @Override
+    public void generate(ProtoChunk chunk, Random random) {
+        byte[] heights = chunk.getTerrainHeights();
+        int minHeight = Chunk.HEIGHT, maxHeight = -1;
+        for (byte height : heights) {
+            minHeight = Math.min(minHeight, height);
+            maxHeight = Math.max(maxHeight, height);
+        }
+        if (maxHeight < 0) return;
+
+        // Bis zum tiefsten Punkt ist alles Stein, darüber Schicht für Schicht, damit das Array der Reihe nach
+        // beschrieben wird. Eine Schicht liegt am Stück, der Index in ihr ist der der Spalte.
+        byte[] ids = chunk.getIds();
+        Arrays.fill(ids, 0, (minHeight + 1) * Chunk.LAYER_SIZE, STONE_ID);
+        for (int y = minHeight + 1; y <= maxHeight; y++) {
+            int layer = y * Chunk.LAYER_SIZE;
+            for (int column = 0; column < Chunk.LAYER_SIZE; column++) {
+                if (y <= heights[column]) ids[layer + column] = STONE_ID;
+            }
+        }
+    }
+}
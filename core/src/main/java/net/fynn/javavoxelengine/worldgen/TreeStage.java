@@ -0,0 +1,92 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import com.badlogic.gdx.math.MathUtils;
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+
+import java.util.Random;
+
+/**
+ * Generiert Bäume auf dem Gelände.
+ * Die Bäume sind entweder Hell- oder Dunkelgrün, mit variablem Stamm und zusätzlichem Ast-Detail.
+ * Sie dürfen überall im Chunk stehen. Weil Blätter und Äste über den Rand reichen, läuft die Stufe auch für die
+ * Nachbarn, siehe {@link #getReach()}.
+ */
+public class TreeStage implements GenerationStage {
+    /** Die Höhe eines Baumstammes*/
+    public static final int TRUNK_HEIGHT = 7;
+
+    /**Der radius der Blätter*/
+    public static final int LEAF_RADIUS  = 3;
+
+    @Override
+    public int getReach() {
+        // Die Blattkrone hat höchstens LEAF_RADIUS + 1, die Blätter an den Ästen reichen weniger weit
+        return LEAF_RADIUS + 1;
+    }
+
+    @Override
+    public void generate(ProtoChunk chunk, Random rand) {
+        // 70% Chance, einen Baum zu spawnen
+        if (rand.nextDouble() >= 0.7) return;
+
+        int tx = rand.nextInt(Chunk.WIDTH);
+        int tz = rand.nextInt(Chunk.DEPTH);
+
+        // Finde Oberflächenhöhe
+        int ty = chunk.getTerrainHeight(tx, tz);
+        if (ty < 0 || ty + TRUNK_HEIGHT + LEAF_RADIUS + 1 >= Chunk.HEIGHT) return;
+
+        // Variierende Stammhöhe und Blatt-Radius
+        int trunkHeight = TRUNK_HEIGHT - 1 + rand.nextInt(3);          // z.B. TRUNK_HEIGHT±1
+        int leafRadius  = LEAF_RADIUS  - 1 + rand.nextInt(3);          // z.B. LEAF_RADIUS±1
+
+        // Blatt-Farbe
+        VoxelType leafType = rand.nextBoolean() ? VoxelType.LEAVES_LIGHT : VoxelType.LEAVES_DARK;
+
+        // 1) Stamm aufbauen
+        for (int i = 1; i <= trunkHeight; i++) {
+            chunk.setBlock(tx, ty + i, tz, VoxelType.WOOD);
+        }
+
+        // 2) Ein paar zufällige Seitentriebe / Äste
+        for (int dir = 0; dir < 4; dir++) {
+            if (rand.nextDouble() < 0.25) {
+                int branchY = ty + 2 + rand.nextInt(trunkHeight - 2);
+                int dx = (dir == 0 ?  1 : dir == 1 ? -1 : 0);
+                int dz = (dir == 2 ?  1 : dir == 3 ? -1 : 0);
+                int bx = tx + dx, bz = tz + dz;
+                chunk.setBlock(bx, branchY, bz, VoxelType.WOOD);
+                // Spitze mit Blättern
+                for (int lx = bx - 1; lx <= bx + 1; lx++) {
+                    for (int lz = bz - 1; lz <= bz + 1; lz++) {
+                        chunk.setBlockIfAir(lx, branchY, lz, leafType);
+                    }
+                }
+            }
+        }
+
+        // 3) Blattkrone als geschichtete Kreise (sphärisch)
+        int canopyHeight = 2 + rand.nextInt(2); // Höhe der Krone: 2–3 Ebenen
+        for (int dy = 0; dy <= canopyHeight; dy++) {
+            // Radius nimmt nach oben ab
+            float layerFraction = dy / (float) canopyHeight;
+            float layerRadius   = leafRadius * (1f - layerFraction) + 0.5f;
+
+            int intRadius = MathUtils.ceil(layerRadius);
+            int yLevel    = ty + trunkHeight + dy;
+
+            for (int dx = -intRadius; dx <= intRadius; dx++) {
+                for (int dz = -intRadius; dz <= intRadius; dz++) {
+                    // Kreisform: (dx, dz) im Radius?
+                    if (dx*dx + dz*dz <= layerRadius*layerRadius) {
+                        // Leichtes Zufalls-Muster, damit die Krone nicht perfekt symmetrisch wird
+                        if (rand.nextFloat() < 0.9f) {
+                            chunk.setBlockIfAir(tx + dx, yLevel, tz + dz, leafType);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package net.fynn.javavoxelengine.worldgen;
+
+import net.fynn.javavoxelengine.chunk.Chunk;
+
+/**
+ * Generiert Chunks in mehreren {@link GenerationStage Stufen}, standardmäßig Gelände, Oberfläche, Bäume und Äpfel.
+ * <p>
+ * Die Stufen schreiben nacheinander in einen {@link ProtoChunk}, danach werden dessen IDs auf einmal in
+ * Abschnitte gepackt, siehe {@link Chunk#fromIds}. {@link #generate(int, int)} kann von mehreren Threads gleichzeitig
+ * aufgerufen werden, jeder Thread hat seinen eigenen ProtoChunk.
+ * <p>
+ * Jede Stufe bekommt einen eigenen Zufallsgenerator, der nur vom Seed, dem Chunk und der Stufe abhängt.
+ * Ein Chunk sieht also immer gleich aus, egal in welcher Reihenfolge und auf welchem Thread er generiert wird.
+ * Stufen, die über den Rand schreiben, laufen zusätzlich für die Nachbarn in ihrer
+ * {@link GenerationStage#getReach() Reichweite}, so kommt z.B. ein Baum am Rand in beiden Chunks gleich an,
+ * ohne dass ein Chunk nach seiner Generierung noch verändert wird.
+ */
+public class WorldGenerator {
+    /** Ein ProtoChunk pro Thread, damit die Chunks ohne Sperren parallel generiert werden. */
+    private static final ThreadLocal<ProtoChunk> PROTO_CHUNKS = ThreadLocal.withInitial(ProtoChunk::new);
+
+    private final int seed;
+    private final TerrainSampler sampler;
+    private final GenerationStage[] stages;
+
+    /**
+     * Erstellt einen Generator mit den Standard-Stufen {@link TerrainStage}, {@link SurfaceStage},
+     * {@link TreeStage} und {@link AppleStage}.
+     *
+     * @param seed Der Seed der Welt.
+     */
+    public WorldGenerator(int seed) {
+        this(seed, new TerrainStage(), new SurfaceStage(), new TreeStage(), new AppleStage());
+    }
+
+    /**
+     * Erstellt einen Generator mit eigenen Stufen, z.B. für andere Biome.
+     *
+     * @param seed Der Seed der Welt.
+     * @param stages Die Stufen in der Reihenfolge, in der sie ausgeführt werden.
+     */
+    public WorldGenerator(int seed, GenerationStage... stages) {
+        this.seed = seed;
+        this.sampler = new TerrainSampler(seed);
+        this.stages = stages.clone();
+    }
+
+    /**
+     * Gibt den Seed der Welt zurück.
+     *
+     * @return Der Seed.
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gibt den Sampler für die Geländehöhen zurück.
+     *
+     * @return Der Sampler.
+     */
+    public TerrainSampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Generiert einen Chunk. Weil die Generierung für gleiche Koordinaten immer gleich ist, gilt der Chunk als
+     * gespeichert, bis er verändert wird.
+     *
+     * @param chunkX Die X-Koordinate des Chunks in Chunk-Koordinaten.
+     * @param chunkZ Die Z-Koordinate des Chunks in Chunk-Koordinaten.
+     * @return Der neue Chunk.
+     */
+    public Chunk generate(int chunkX, int chunkZ) {
+        ProtoChunk proto = PROTO_CHUNKS.get();
+        proto.reset(chunkX, chunkZ, sampler);
+        for (int i = 0; i < stages.length; i++) {
+            int reach = stages[i].getReach();
+            int rangeX = (reach + Chunk.WIDTH - 1) / Chunk.WIDTH;
+            int rangeZ = (reach + Chunk.DEPTH - 1) / Chunk.DEPTH;
+            // Immer in derselben Reihenfolge in Welt-Koordinaten, damit sich überlappende Blöcke
+            // in jedem Chunk gleich gegenseitig überschreiben
+            for (int dz = -rangeZ; dz <= rangeZ; dz++) {
+                for (int dx = -rangeX; dx <= rangeX; dx++) {
+                    proto.setSource(dx, dz);
+                    proto.getRandom().setSeed(stageSeed(chunkX + dx, chunkZ + dz, i));
+                    stages[i].generate(proto, proto.getRandom());
+                }
+            }
+            proto.setSource(0, 0);
+        }
+
+        return Chunk.fromIds(chunkX * Chunk.WIDTH, 0, chunkZ * Chunk.DEPTH, proto.getIds());
+    }
+
+    private long stageSeed(int chunkX, int chunkZ, int stage) {
+        return (chunkX * 73856093L) ^ (chunkZ * 19349663L) ^ (stage * 83492791L) ^ seed;
+    }
+}
@@ -0,0 +1,140 @@
+package net.fynn.javavoxelengine;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.Array;
+import net.fynn.javavoxelengine.challenge.ChallengeManager;
+import net.fynn.javavoxelengine.chunk.Chunk;
+import net.fynn.javavoxelengine.chunk.ChunkGrid;
+import net.fynn.javavoxelengine.chunk.ChunkMesher;
+import net.fynn.javavoxelengine.chunk.ChunkRenderer;
+import net.fynn.javavoxelengine.player.Crosshair;
+import net.fynn.javavoxelengine.player.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Prüft, dass ein Frame in einer fertig geladenen Welt auf dem Render-Thread nichts mehr allokiert.
+ * <p>
+ * Der Frame läuft wie in {@link VoxelEngine#render()}, nur ohne ImGui, das native Bibliotheken und ein Fenster
+ * braucht, und gegen das {@link NoopGL20}. Gemessen wird mit {@link com.sun.management.ThreadMXBean}, also nur der
+ * Render-Thread; die Generierung und das Meshing im Hintergrund zählen nicht.
+ */
+public class FrameAllocationTest {
+    private static final float DELTA = 1f / 60f;
+
+    /** Wie viele Frames gemessen werden. */
+    private static final int FRAMES = 1000;
+
+    /** Wie viele Bytes ein Frame im Mittel höchstens allokieren darf, als Spielraum für die Messung selbst. */
+    private static final long MAX_BYTES_PER_FRAME = 16;
+
+    /** Wie lange höchstens gewartet wird, bis alle Chunks generiert und hochgeladen sind, in Millisekunden. */
+    private static final long WARM_UP_TIMEOUT = 60_000;
+
+    private HeadlessApplication application;
+    private RenderSettings renderSettings;
+    private ChunkGrid chunkGrid;
+    private ChunkRenderer chunkRenderer;
+    private Player player;
+    private Crosshair crosshair;
+    private ChallengeManager challengeManager;
+    private final Array<Chunk> visibleChunks = new Array<>();
+
+    @Before
+    public void setUp() {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        application = new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = Gdx.gl20 = new NoopGL20();
+
+        renderSettings = new RenderSettings();
+        renderSettings.setRenderDistance(3 * Chunk.WIDTH);
+        chunkGrid = new ChunkGrid(1234, renderSettings.getLoadRadius(), renderSettings.getUnloadRadius());
+        chunkRenderer = new ChunkRenderer("", "");
+        crosshair = new Crosshair();
+        challengeManager = new ChallengeManager();
+
+        player = new Player(chunkGrid);
+        player.getCamera().viewportWidth = 1280;
+        player.getCamera().viewportHeight = 720;
+        int spawnX = Chunk.WIDTH / 2, spawnZ = Chunk.DEPTH / 2;
+        player.setPosition(spawnX + 0.5f, chunkGrid.getGenerator().getSampler().getHeight(spawnX, spawnZ) + 1, spawnZ + 0.5f);
+    }
+
+    @After
+    public void tearDown() {
+        chunkGrid.dispose();
+        chunkRenderer.dispose();
+        crosshair.dispose();
+        ChunkMesher.dispose();
+        application.exit();
+    }
+
+    @Test
+    public void steadyFrameDoesNotAllocate() throws InterruptedException {
+        warmUp();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < FRAMES; i++) {
+            frame();
+        }
+        long bytesPerFrame = (threads.getThreadAllocatedBytes(thread) - before) / FRAMES;
+
+        assertTrue("Allocated " + bytesPerFrame + " bytes per frame", bytesPerFrame <= MAX_BYTES_PER_FRAME);
+    }
+
+    /**
+     * Lässt Frames laufen, bis alle Chunks generiert sind und sich die hochgeladenen Meshes nicht mehr ändern,
+     * und dann noch ein paar, damit der JIT die Schleife übersetzt hat.
+     */
+    private void warmUp() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WARM_UP_TIMEOUT;
+        long residentBytes = -1;
+        int stableFrames = 0;
+        while (stableFrames < 200) {
+            assertTrue("World did not finish loading", System.currentTimeMillis() < deadline);
+            frame();
+            boolean stable = chunkGrid.isGenerationComplete() && ChunkMesher.getResidentBytes() == residentBytes;
+            stableFrames = stable ? stableFrames + 1 : 0;
+            residentBytes = ChunkMesher.getResidentBytes();
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            frame();
+        }
+    }
+
+    /**
+     * Die Schritte von {@link VoxelEngine#render()} ohne ImGui, mit fester Frame-Zeit.
+     */
+    private void frame() {
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+
+        float renderDistance = renderSettings.getRenderDistance();
+        chunkGrid.setRadius(renderSettings.getLoadRadius(), renderSettings.getUnloadRadius());
+        chunkRenderer.setFog(renderSettings.getFogStart(), renderSettings.getFogEnd());
+        player.getCamera().far = renderDistance + Chunk.WIDTH;
+
+        chunkGrid.update(player.getCamera().position);
+        player.update(DELTA);
+
+        ChunkMesher.update();
+        chunkGrid.collectVisibleChunks(player.getCamera(), renderDistance, visibleChunks);
+        chunkRenderer.render(player.getCamera(), visibleChunks);
+
+        crosshair.render();
+        challengeManager.update();
+        renderSettings.update(DELTA, DELTA);
+    }
+}
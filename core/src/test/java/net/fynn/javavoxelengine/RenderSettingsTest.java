@@ -0,0 +1,66 @@
+package net.fynn.javavoxelengine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Prüft den Regler der {@link RenderSettings} mit festen Frame-Zeiten, ohne Fenster.
+ */
+public class RenderSettingsTest {
+    private static final float TARGET = 1f / 60f;
+    private static final float START_DISTANCE = 300f;
+
+    private RenderSettings settings;
+
+    @Before
+    public void setUp() {
+        settings = new RenderSettings();
+        settings.setRenderDistance(START_DISTANCE);
+        settings.setTargetFps(60);
+        settings.setAutoRenderDistance(true);
+    }
+
+    @Test
+    public void missedVSyncShrinksDespiteCheapCpuTime() {
+        // Die GPU verpasst jeden zweiten Bildwechsel, die CPU ist nach 5 ms fertig
+        run(2 * TARGET, 0.005f, 120);
+        assertTrue(settings.getRenderDistance() < START_DISTANCE);
+    }
+
+    @Test
+    public void vSyncWaitDoesNotShrink() {
+        // Ein Bildwechsel pro Frame, die restliche Zeit wartet VSync
+        run(TARGET, 0.005f, 120);
+        assertTrue(settings.getRenderDistance() > START_DISTANCE);
+    }
+
+    @Test
+    public void withoutVSyncTheWholeFrameCounts() {
+        settings.setVSync(false);
+        // Über der Zielzeit, aber nicht genug für einen verpassten Bildwechsel
+        run(1.2f * TARGET, 0.005f, 120);
+        assertTrue(settings.getRenderDistance() < START_DISTANCE);
+    }
+
+    @Test
+    public void slowCpuShrinks() {
+        run(2 * TARGET, 2 * TARGET, 120);
+        assertTrue(settings.getRenderDistance() < START_DISTANCE);
+    }
+
+    @Test
+    public void disabledGovernorKeepsDistance() {
+        settings.setAutoRenderDistance(false);
+        run(4 * TARGET, 4 * TARGET, 120);
+        assertEquals(START_DISTANCE, settings.getRenderDistance(), 0f);
+    }
+
+    private void run(float delta, float frameTime, int frames) {
+        for (int i = 0; i < frames; i++) {
+            settings.update(delta, frameTime);
+        }
+    }
+}
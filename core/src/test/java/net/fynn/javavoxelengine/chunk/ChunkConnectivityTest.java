@@ -0,0 +1,83 @@
+package net.fynn.javavoxelengine.chunk;
+
+import net.fynn.javavoxelengine.voxel.VoxelType;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Prüft die Verbindungen der Seiten eines Abschnitts an festen Voxeldaten.
+ */
+public class ChunkConnectivityTest {
+    private static final byte AIR = VoxelType.AIR.getId(), STONE = VoxelType.STONE.getId();
+
+    @Test
+    public void openSectionConnectsAllFaces() {
+        byte[] ids = filled(AIR);
+        for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+            assertEquals(ChunkConnectivity.ALL, ChunkConnectivity.compute(ids, section));
+        }
+    }
+
+    @Test
+    public void sealedSectionConnectsNothing() {
+        byte[] ids = filled(STONE);
+        // Eine Höhle im Inneren berührt keine Seite und verbindet daher auch nichts
+        ids[Chunk.index(20, 8, 20)] = AIR;
+        ids[Chunk.index(21, 8, 20)] = AIR;
+        int connectivity = ChunkConnectivity.compute(ids, 0);
+        assertEquals(0, connectivity);
+        for (int a = 0; a < ChunkConnectivity.FACE_COUNT; a++) {
+            assertFalse(ChunkConnectivity.connectsAny(connectivity, a));
+        }
+    }
+
+    @Test
+    public void tunnelConnectsOnlyItsEnds() {
+        byte[] ids = filled(STONE);
+        int y = ChunkSection.HEIGHT + 8;
+        for (int x = 0; x < Chunk.WIDTH; x++) {
+            ids[Chunk.index(x, y, Chunk.DEPTH / 2)] = AIR;
+        }
+
+        int connectivity = ChunkConnectivity.compute(ids, 1);
+        for (int a = 0; a < ChunkConnectivity.FACE_COUNT; a++) {
+            for (int b = 0; b < ChunkConnectivity.FACE_COUNT; b++) {
+                boolean expected = a == b || a == Chunk.WEST && b == Chunk.EAST || a == Chunk.EAST && b == Chunk.WEST;
+                assertEquals(a + "-" + b, expected, ChunkConnectivity.connects(connectivity, a, b));
+            }
+        }
+        assertTrue(ChunkConnectivity.connectsAny(connectivity, 1 << Chunk.WEST | 1 << ChunkConnectivity.UP, Chunk.EAST));
+        assertFalse(ChunkConnectivity.connectsAny(connectivity, 1 << Chunk.NORTH | 1 << ChunkConnectivity.UP, Chunk.EAST));
+
+        // Die Abschnitte darüber und darunter bleiben geschlossen
+        assertEquals(0, ChunkConnectivity.compute(ids, 0));
+        assertEquals(0, ChunkConnectivity.compute(ids, 2));
+    }
+
+    @Test
+    public void bentTunnelConnectsSideAndTop() {
+        byte[] ids = filled(STONE);
+        for (int x = 0; x <= 10; x++) {
+            ids[Chunk.index(x, 4, 10)] = AIR;
+        }
+        for (int y = 4; y < ChunkSection.HEIGHT; y++) {
+            ids[Chunk.index(10, y, 10)] = AIR;
+        }
+
+        int connectivity = ChunkConnectivity.compute(ids, 0);
+        assertTrue(ChunkConnectivity.connects(connectivity, Chunk.WEST, ChunkConnectivity.UP));
+        assertFalse(ChunkConnectivity.connects(connectivity, Chunk.WEST, Chunk.EAST));
+        assertFalse(ChunkConnectivity.connects(connectivity, ChunkConnectivity.UP, ChunkConnectivity.DOWN));
+    }
+
+    private static byte[] filled(byte id) {
+        byte[] ids = new byte[Chunk.VOLUME];
+        Arrays.fill(ids, id);
+        return ids;
+    }
+}
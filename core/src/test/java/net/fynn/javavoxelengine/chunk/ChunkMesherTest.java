@@ -0,0 +1,240 @@
+package net.fynn.javavoxelengine.chunk;
+
+import net.fynn.javavoxelengine.voxel.VoxelType;
+import net.fynn.javavoxelengine.worldgen.WorldGenerator;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Prüft {@link ChunkMesher#buildMeshData} an festen Chunks, ohne OpenGL.
+ */
+public class ChunkMesherTest {
+    /** Die Indizes der Seiten im Vertex, wie die Reihenfolge von {@code ChunkMesher.Face}. */
+    private static final int TOP = 0, BOTTOM = 1, NORTH = 2, SOUTH = 3, EAST = 4, WEST = 5;
+
+    /** Die Achse der Normalen pro Seite (0 = X, 1 = Y, 2 = Z). */
+    private static final int[] FACE_AXIS = {1, 1, 2, 2, 0, 0};
+
+    private static final int FACE_AREA = Chunk.WIDTH * Chunk.DEPTH;
+
+    @Test
+    public void emptyChunkHasNoQuads() {
+        for (ChunkMesher.Mode mode : ChunkMesher.Mode.values()) {
+            ChunkMeshData[] sections = build(filled(VoxelType.AIR), mode, 0);
+            for (ChunkMeshData data : sections) {
+                assertEquals(0, data.getQuadCount());
+                assertEquals(ChunkConnectivity.ALL, data.connectivity);
+            }
+        }
+    }
+
+    @Test
+    public void solidChunkHasOnlyItsHull() {
+        ChunkMeshData[] sections = build(filled(VoxelType.STONE), ChunkMesher.Mode.PER_FACE, 0);
+        // Ohne Nachbarn sind alle vier Seiten sichtbar, die Unterseite der Welt nie
+        int sides = 2 * (Chunk.WIDTH + Chunk.DEPTH) * ChunkSection.HEIGHT;
+        assertEquals(sides, sections[0].getQuadCount());
+        assertEquals(sides, sections[1].getQuadCount());
+        assertEquals(sides + FACE_AREA, sections[2].getQuadCount());
+        assertEquals(0, countFaces(sections, BOTTOM));
+        for (ChunkMeshData data : sections) {
+            assertEquals(0, data.connectivity);
+        }
+
+        ChunkMeshData[] greedy = build(filled(VoxelType.STONE), ChunkMesher.Mode.GREEDY, 0);
+        for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+            assertTrue(greedy[section].getQuadCount() < sections[section].getQuadCount());
+            assertEquals(sections[section].getQuadCount(), coveredArea(greedy[section]));
+        }
+    }
+
+    @Test
+    public void singleBlockHasSixUnitQuads() {
+        byte[] ids = filledIds(VoxelType.AIR);
+        ids[Chunk.index(10, 20, 30)] = VoxelType.WOOD.getId();
+        Chunk chunk = Chunk.fromIds(0, 0, 0, ids);
+
+        for (ChunkMesher.Mode mode : ChunkMesher.Mode.values()) {
+            ChunkMeshData[] sections = build(chunk, mode, 0);
+            assertEquals(0, sections[0].getQuadCount());
+            assertEquals(6, sections[1].getQuadCount());
+            assertEquals(0, sections[2].getQuadCount());
+
+            // Jede Seite genau einmal, mit den Ecken auf der Hülle des Blocks
+            float color = sections[1].topBottom.getVertices()[1];
+            for (int face = 0; face < 6; face++) {
+                assertEquals(1, countFaces(sections, face));
+            }
+            for (ChunkMeshData.Part part : sections[1].getParts()) {
+                float[] vertices = part.getVertices();
+                for (int v = 0; v < part.getVertexCount(); v++) {
+                    int position = Float.floatToRawIntBits(vertices[v * ChunkMeshData.VERTEX_SIZE]);
+                    int x = position & 0xFF, y = position >> 8 & 0xFF, z = position >> 16 & 0xFF;
+                    assertTrue(x == 10 || x == 11);
+                    assertTrue(y == 20 || y == 21);
+                    assertTrue(z == 30 || z == 31);
+                    assertEquals(color, vertices[v * ChunkMeshData.VERTEX_SIZE + 1], 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void checkerboardAcrossBorderIsHiddenByNeighbor() {
+        // Ein Schachbrett in der östlichsten Schicht von a und dasselbe in der westlichsten von b
+        byte[] idsA = filledIds(VoxelType.AIR);
+        byte[] idsB = filledIds(VoxelType.AIR);
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.DEPTH; z++) {
+                if ((y + z) % 2 != 0) continue;
+                idsA[Chunk.index(Chunk.WIDTH - 1, y, z)] = VoxelType.STONE.getId();
+                idsB[Chunk.index(0, y, z)] = VoxelType.STONE.getId();
+            }
+        }
+        Chunk a = Chunk.fromIds(0, 0, 0, idsA);
+        Chunk b = Chunk.fromIds(Chunk.WIDTH, 0, 0, idsB);
+
+        int blocks = Chunk.HEIGHT * Chunk.DEPTH / 2;
+        int onGround = Chunk.DEPTH / 2;
+        ChunkMeshData[] alone = build(a, ChunkMesher.Mode.PER_FACE, 0);
+        assertEquals(blocks, countFaces(alone, EAST));
+        assertEquals(blocks, countFaces(alone, WEST));
+        assertEquals(blocks, countFaces(alone, TOP));
+        assertEquals(blocks - onGround, countFaces(alone, BOTTOM));
+        assertEquals(blocks, countFaces(alone, NORTH));
+        assertEquals(blocks, countFaces(alone, SOUTH));
+
+        a.setNeighbor(Chunk.EAST, b);
+        b.setNeighbor(Chunk.WEST, a);
+        for (ChunkMesher.Mode mode : ChunkMesher.Mode.values()) {
+            ChunkMeshData[] linked = build(a, mode, 0);
+            assertEquals(0, countFaces(linked, EAST));
+            assertEquals(blocks, countFaces(linked, WEST));
+            assertEquals(quadCount(alone) - blocks, quadCount(linked));
+        }
+    }
+
+    @Test
+    public void greedyCoversTheSameFacesAsPerFace() {
+        Chunk chunk = new WorldGenerator(1234).generate(0, 0);
+        ChunkMeshData[] perFace = build(chunk, ChunkMesher.Mode.PER_FACE, 0);
+        ChunkMeshData[] greedy = build(chunk, ChunkMesher.Mode.GREEDY, 0);
+        for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+            assertEquals(perFace[section].getQuadCount(), coveredArea(greedy[section]));
+            assertEquals(perFace[section].connectivity, greedy[section].connectivity);
+        }
+    }
+
+    @Test
+    public void buildIsDeterministic() {
+        Chunk chunk = new WorldGenerator(1234).generate(0, 0);
+        for (ChunkMesher.Mode mode : ChunkMesher.Mode.values()) {
+            for (int level = 0; level <= ChunkMesher.MAX_LOD_LEVEL; level++) {
+                ChunkMeshData[] first = build(chunk, mode, level);
+
+                // Ein zweiter Bau in dieselben, geleerten Puffer, wie bei den Mesh-Workern
+                ChunkSnapshot snapshot = new ChunkSnapshot();
+                snapshot.set(chunk);
+                ChunkMeshData[] second = build(chunk, mode, level);
+                for (ChunkMeshData data : second) {
+                    data.clear();
+                }
+                ChunkMesher.buildMeshData(snapshot, mode, level, second);
+
+                for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+                    assertEquals(first[section].connectivity, second[section].connectivity);
+                    ChunkMeshData.Part[] a = first[section].getParts();
+                    ChunkMeshData.Part[] b = second[section].getParts();
+                    for (int part = 0; part < a.length; part++) {
+                        assertArrayEquals(usedVertices(a[part]), usedVertices(b[part]), 0f);
+                    }
+                }
+            }
+        }
+    }
+
+    private static ChunkMeshData[] build(Chunk chunk, ChunkMesher.Mode mode, int level) {
+        ChunkSnapshot snapshot = new ChunkSnapshot();
+        snapshot.set(chunk);
+        ChunkMeshData[] sections = new ChunkMeshData[Chunk.SECTION_COUNT];
+        for (int section = 0; section < sections.length; section++) {
+            sections[section] = new ChunkMeshData();
+        }
+        ChunkMesher.buildMeshData(snapshot, mode, level, sections);
+        return sections;
+    }
+
+    private static byte[] filledIds(VoxelType type) {
+        byte[] ids = new byte[Chunk.VOLUME];
+        Arrays.fill(ids, type.getId());
+        return ids;
+    }
+
+    private static Chunk filled(VoxelType type) {
+        return Chunk.fromIds(0, 0, 0, filledIds(type));
+    }
+
+    private static int quadCount(ChunkMeshData[] sections) {
+        int quads = 0;
+        for (ChunkMeshData data : sections) {
+            quads += data.getQuadCount();
+        }
+        return quads;
+    }
+
+    /**
+     * Zählt die Quads einer Seite in allen Abschnitten.
+     */
+    private static int countFaces(ChunkMeshData[] sections, int face) {
+        int quads = 0;
+        for (ChunkMeshData data : sections) {
+            for (ChunkMeshData.Part part : data.getParts()) {
+                float[] vertices = part.getVertices();
+                for (int v = 0; v < part.getVertexCount(); v += 4) {
+                    if (Float.floatToRawIntBits(vertices[v * ChunkMeshData.VERTEX_SIZE]) >>> 24 == face) quads++;
+                }
+            }
+        }
+        return quads;
+    }
+
+    /**
+     * Die Fläche aller Quads eines Abschnitts in Blockseiten, bei voller Auflösung also die Anzahl der Seiten,
+     * die sie abdecken.
+     */
+    private static int coveredArea(ChunkMeshData data) {
+        int area = 0;
+        for (ChunkMeshData.Part part : data.getParts()) {
+            float[] vertices = part.getVertices();
+            for (int v = 0; v < part.getVertexCount(); v += 4) {
+                int[] min = {255, 255, 255};
+                int[] max = {0, 0, 0};
+                int face = 0;
+                for (int corner = 0; corner < 4; corner++) {
+                    int position = Float.floatToRawIntBits(vertices[(v + corner) * ChunkMeshData.VERTEX_SIZE]);
+                    for (int axis = 0; axis < 3; axis++) {
+                        int value = position >> (axis * 8) & 0xFF;
+                        min[axis] = Math.min(min[axis], value);
+                        max[axis] = Math.max(max[axis], value);
+                    }
+                    face = position >>> 24;
+                }
+                int quadArea = 1;
+                for (int axis = 0; axis < 3; axis++) {
+                    if (axis != FACE_AXIS[face]) quadArea *= max[axis] - min[axis];
+                }
+                area += quadArea;
+            }
+        }
+        return area;
+    }
+
+    private static float[] usedVertices(ChunkMeshData.Part part) {
+        return Arrays.copyOf(part.getVertices(), part.getVertexCount() * ChunkMeshData.VERTEX_SIZE);
+    }
+}
@@ -0,0 +1,89 @@
+package net.fynn.javavoxelengine.chunk;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import net.fynn.javavoxelengine.voxel.VoxelType;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Prüft den {@link ChunkOcclusionCuller} an einer Reihe von Chunks entlang der X-Achse: Die Kamera steht im
+ * ersten, der zweite ist eine Wand über die ganze Höhe, dahinter liegen zwei offene Chunks.
+ */
+public class ChunkOcclusionCullerTest {
+    private static final byte AIR = VoxelType.AIR.getId(), STONE = VoxelType.STONE.getId();
+
+    private final Vector3 eye = new Vector3(Chunk.WIDTH / 2f, 8f, Chunk.DEPTH / 2f);
+
+    @Test
+    public void sealedWallHidesChunksBehindIt() {
+        Array<Chunk> row = row(filled(STONE));
+        Array<Chunk> visible = new Array<>(row);
+
+        ChunkOcclusionCuller culler = new ChunkOcclusionCuller();
+        culler.cull(eye, visible);
+
+        assertEquals(2, culler.getCulledCount());
+        assertEquals(2, visible.size);
+        assertSame(row.get(0), visible.get(0));
+        assertSame(row.get(1), visible.get(1));
+    }
+
+    @Test
+    public void tunnelThroughWallKeepsChunksBehindIt() {
+        byte[] wall = filled(STONE);
+        for (int x = 0; x < Chunk.WIDTH; x++) {
+            wall[Chunk.index(x, 8, Chunk.DEPTH / 2)] = AIR;
+        }
+        Array<Chunk> visible = row(wall);
+
+        ChunkOcclusionCuller culler = new ChunkOcclusionCuller();
+        culler.cull(eye, visible);
+
+        assertEquals(0, culler.getCulledCount());
+        assertEquals(4, visible.size);
+    }
+
+    @Test
+    public void cameraAboveWorldCullsNothing() {
+        Array<Chunk> visible = row(filled(STONE));
+
+        ChunkOcclusionCuller culler = new ChunkOcclusionCuller();
+        culler.cull(new Vector3(eye.x, Chunk.HEIGHT + 10f, eye.z), visible);
+
+        assertEquals(0, culler.getCulledCount());
+        assertEquals(4, visible.size);
+    }
+
+    /**
+     * Baut die Reihe aus Kamera-Chunk, Wand und zwei Chunks dahinter, verbunden wie im {@link ChunkGrid}.
+     * Die Verbindungen der Abschnitte werden wie beim Meshing aus den Voxeln berechnet.
+     */
+    private static Array<Chunk> row(byte[] wall) {
+        Array<Chunk> row = new Array<>();
+        for (int i = 0; i < 4; i++) {
+            byte[] ids = i == 1 ? wall : filled(AIR);
+            Chunk chunk = Chunk.fromIds(i * Chunk.WIDTH, 0, 0, ids);
+            for (int section = 0; section < Chunk.SECTION_COUNT; section++) {
+                chunk.setConnectivity(section, ChunkConnectivity.compute(ids, section));
+            }
+            if (i > 0) {
+                Chunk west = row.get(i - 1);
+                chunk.setNeighbor(Chunk.WEST, west);
+                west.setNeighbor(Chunk.EAST, chunk);
+            }
+            row.add(chunk);
+        }
+        return row;
+    }
+
+    private static byte[] filled(byte id) {
+        byte[] ids = new byte[Chunk.VOLUME];
+        Arrays.fill(ids, id);
+        return ids;
+    }
+}
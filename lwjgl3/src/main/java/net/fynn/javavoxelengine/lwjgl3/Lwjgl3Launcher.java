@@ -1,8 +1,10 @@
 package net.fynn.javavoxelengine.lwjgl3;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import net.fynn.javavoxelengine.RenderSettings;
 import net.fynn.javavoxelengine.VoxelEngine;
 
 /**
@@ -21,7 +23,41 @@ public class Lwjgl3Launcher {
     }
 
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new VoxelEngine(), getDefaultConfiguration());
+        RenderSettings settings = new RenderSettings();
+        settings.setVSync(Boolean.parseBoolean(System.getProperty("voxel.vsync", "true")));
+        Lwjgl3ApplicationConfiguration configuration = getDefaultConfiguration();
+        configuration.useVsync(settings.isVSync());
+        return new Lwjgl3Application(new VoxelEngine(settings) {
+            @Override
+            public void create() {
+                // Erst hier, damit Fehler über Gdx.app gemeldet werden können
+                readRenderSettings(settings);
+                super.create();
+            }
+        }, configuration);
+    }
+
+    /**
+     * Liest die Sichtweite aus den System-Properties, z.B. {@code -Dvoxel.renderDistance=300}.
+     * Anders als Programmargumente werden die Properties auch beim Neustart durch den {@link StartupHelper} übernommen.
+     * <ul>
+     *     <li>{@code voxel.renderDistance}: die Sichtweite in Blöcken</li>
+     *     <li>{@code voxel.autoRenderDistance}: {@code true}, um die Sichtweite an die Frame-Zeit anzupassen</li>
+     *     <li>{@code voxel.targetFps}: die angestrebten Bilder pro Sekunde dafür</li>
+     *     <li>{@code voxel.vsync}: {@code false}, um VSync auszuschalten</li>
+     * </ul>
+     * Nur {@code voxel.vsync} wird schon vor dem Start gelesen, weil das Fenster es braucht.
+     */
+    private static void readRenderSettings(RenderSettings settings) {
+        try {
+            String renderDistance = System.getProperty("voxel.renderDistance");
+            if (renderDistance != null) settings.setRenderDistance(Float.parseFloat(renderDistance));
+            String targetFps = System.getProperty("voxel.targetFps");
+            if (targetFps != null) settings.setTargetFps(Integer.parseInt(targetFps));
+        } catch (NumberFormatException e) {
+            Gdx.app.error("Lwjgl3Launcher", "Invalid render settings, using defaults where needed: " + e.getMessage());
+        }
+        settings.setAutoRenderDistance(Boolean.getBoolean("voxel.autoRenderDistance"));
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {